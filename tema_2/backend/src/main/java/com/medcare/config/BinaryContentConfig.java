@@ -0,0 +1,22 @@
+package com.medcare.config;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+// Lets every controller answer Accept: application/cbor with the same DTOs it serves as JSON.
+@Configuration
+public class BinaryContentConfig {
+
+    // Replaces Spring's default CBOR converter so dates and durations are written the way the JSON
+    // responses write them rather than as numeric timestamps.
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(Jackson2ObjectMapperBuilder.cbor()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .build());
+    }
+}
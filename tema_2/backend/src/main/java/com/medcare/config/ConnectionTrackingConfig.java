@@ -0,0 +1,97 @@
+package com.medcare.config;
+
+import com.medcare.service.ConnectionHoldTimeTracker;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// Times every connection checkout against the pool so the hold-time histograms can be served from
+// /api/admin/metrics/connections.
+@Configuration
+public class ConnectionTrackingConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionHoldTimeDataSourcePostProcessor(
+            ObjectProvider<ConnectionHoldTimeTracker> tracker) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof TrackingDataSource)) {
+                    return new TrackingDataSource(dataSource, tracker);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Runs outermost so the per-request sum also covers connections used by the security filters.
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> connectionHoldTimeFilter(ConnectionHoldTimeTracker tracker) {
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                tracker.requestStarted();
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    tracker.requestFinished();
+                }
+            }
+        });
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    private static final class TrackingDataSource extends DelegatingDataSource {
+        private final ObjectProvider<ConnectionHoldTimeTracker> tracker;
+
+        TrackingDataSource(DataSource target, ObjectProvider<ConnectionHoldTimeTracker> tracker) {
+            super(target);
+            this.tracker = tracker;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return track(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return track(super.getConnection(username, password));
+        }
+
+        private Connection track(Connection connection) {
+            long checkedOut = System.nanoTime();
+            boolean[] closed = new boolean[1];
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        if (method.getName().equals("close") && !closed[0]) {
+                            closed[0] = true;
+                            tracker.getObject().checkedIn(System.nanoTime() - checkedOut);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -29,7 +29,9 @@ public class CorsConfig {
             "Accept",
             "Origin",
             "Access-Control-Request-Method",
-            "Access-Control-Request-Headers"
+            "Access-Control-Request-Headers",
+            "Idempotency-Key",
+            "If-None-Match"
         ));
         
         // Allow credentials
@@ -38,7 +40,8 @@ public class CorsConfig {
         // Expose headers
         config.setExposedHeaders(Arrays.asList(
             "Access-Control-Allow-Origin",
-            "Access-Control-Allow-Credentials"
+            "Access-Control-Allow-Credentials",
+            "ETag"
         ));
         
         // Max age
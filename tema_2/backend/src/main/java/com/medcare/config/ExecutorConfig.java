@@ -0,0 +1,34 @@
+package com.medcare.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    // Slot searches are in-memory and CPU bound, so one thread per core is enough.
+    @Bean
+    public ThreadPoolTaskExecutor slotSearchExecutor() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("slot-search-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Drains SSE subscriber queues. Only subscribers with pending events occupy a task.
+    @Bean
+    public ThreadPoolTaskExecutor streamSendExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(10_000);
+        executor.setThreadNamePrefix("stream-send-");
+        executor.initialize();
+        return executor;
+    }
+}
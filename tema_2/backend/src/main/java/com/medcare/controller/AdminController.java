@@ -4,10 +4,12 @@ import com.medcare.model.Doctor;
 import com.medcare.model.MedicalService;
 import com.medcare.model.User;
 import com.medcare.service.AdminService;
+import com.medcare.service.CollectionVersions;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,9 +20,11 @@ import java.util.List;
 public class AdminController {
 
     private final AdminService adminService;
+    private final ConditionalGet conditionalGet;
 
-    public AdminController(AdminService adminService) {
+    public AdminController(AdminService adminService, ConditionalGet conditionalGet) {
         this.adminService = adminService;
+        this.conditionalGet = conditionalGet;
     }
 
     // User Management
@@ -30,8 +34,8 @@ public class AdminController {
     }
 
     @GetMapping("/users")
-    public ResponseEntity<List<User>> getAllReceptionists() {
-        return ResponseEntity.ok(adminService.getAllReceptionists());
+    public ResponseEntity<List<User>> getAllReceptionists(WebRequest request) {
+        return conditionalGet.respond(request, CollectionVersions.Kind.USERS, adminService::getAllReceptionists);
     }
 
     // Doctor Management
@@ -52,8 +56,8 @@ public class AdminController {
     }
 
     @GetMapping("/doctors")
-    public ResponseEntity<List<Doctor>> getAllDoctors() {
-        return ResponseEntity.ok(adminService.getAllDoctors());
+    public ResponseEntity<List<Doctor>> getAllDoctors(WebRequest request) {
+        return conditionalGet.respond(request, CollectionVersions.Kind.DOCTORS, adminService::getAllDoctors);
     }
 
     // Medical Service Management
@@ -74,8 +78,8 @@ public class AdminController {
     }
 
     @GetMapping("/services")
-    public ResponseEntity<List<MedicalService>> getAllServices() {
-        return ResponseEntity.ok(adminService.getAllServices());
+    public ResponseEntity<List<MedicalService>> getAllServices(WebRequest request) {
+        return conditionalGet.respond(request, CollectionVersions.Kind.SERVICES, adminService::getAllServices);
     }
 
     // Reports
@@ -0,0 +1,66 @@
+package com.medcare.controller;
+
+import com.medcare.service.CollectionVersions;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+// Answers If-None-Match from the collection version alone; the body is only built when the tag differs.
+@Component
+public class ConditionalGet {
+
+    private static final List<MediaType> PRODUCED = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR);
+
+    private final CollectionVersions collectionVersions;
+
+    public ConditionalGet(CollectionVersions collectionVersions) {
+        this.collectionVersions = collectionVersions;
+    }
+
+    public <T> ResponseEntity<T> respond(WebRequest request, CollectionVersions.Kind kind, Supplier<T> body) {
+        String etag = collectionVersions.etag(kind, variant(request));
+        if (request.checkNotModified(etag)) {
+            // checkNotModified has already set 304 and the ETag header
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                // The same URL may be served as JSON or CBOR
+                .varyBy("Accept")
+                .body(body.get());
+    }
+
+    // "cbor" when content negotiation will pick the CBOR converter, null for JSON. Ranks the candidates
+    // the way Spring does, so a wildcard goes to JSON, whose converter is registered first.
+    static String variant(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return null;
+        }
+        List<MediaType> candidates = new ArrayList<>();
+        try {
+            for (MediaType acceptable : MediaType.parseMediaTypes(accept)) {
+                for (MediaType produced : PRODUCED) {
+                    if (acceptable.isCompatibleWith(produced)) {
+                        candidates.add(produced.copyQualityValue(acceptable));
+                    }
+                }
+            }
+            MimeTypeUtils.sortBySpecificity(candidates);
+        } catch (InvalidMediaTypeException | InvalidMimeTypeException e) {
+            return null;
+        }
+        return !candidates.isEmpty() && candidates.get(0).isCompatibleWith(MediaType.APPLICATION_CBOR) ? "cbor" : null;
+    }
+}
@@ -0,0 +1,51 @@
+package com.medcare.controller;
+
+import com.medcare.service.AppointmentEventBroadcaster;
+import com.medcare.service.CatalogCache;
+import com.medcare.service.ConnectionHoldTimeTracker;
+import com.medcare.service.StatusWriteBehindQueue;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/metrics")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@PreAuthorize("hasRole('ADMIN')")
+public class MetricsController {
+
+    private final StatusWriteBehindQueue statusWriteBehindQueue;
+    private final ConnectionHoldTimeTracker connectionHoldTimeTracker;
+    private final CatalogCache catalogCache;
+    private final AppointmentEventBroadcaster appointmentEventBroadcaster;
+
+    public MetricsController(StatusWriteBehindQueue statusWriteBehindQueue,
+                             ConnectionHoldTimeTracker connectionHoldTimeTracker,
+                             CatalogCache catalogCache,
+                             AppointmentEventBroadcaster appointmentEventBroadcaster) {
+        this.statusWriteBehindQueue = statusWriteBehindQueue;
+        this.connectionHoldTimeTracker = connectionHoldTimeTracker;
+        this.catalogCache = catalogCache;
+        this.appointmentEventBroadcaster = appointmentEventBroadcaster;
+    }
+
+    @GetMapping("/status-writes")
+    public ResponseEntity<?> getStatusWriteMetrics() {
+        return ResponseEntity.ok(statusWriteBehindQueue.metrics());
+    }
+
+    @GetMapping("/connections")
+    public ResponseEntity<?> getConnectionMetrics() {
+        return ResponseEntity.ok(connectionHoldTimeTracker.metrics());
+    }
+
+    @GetMapping("/catalog")
+    public ResponseEntity<?> getCatalogMetrics() {
+        return ResponseEntity.ok(catalogCache.metrics());
+    }
+
+    @GetMapping("/streams")
+    public ResponseEntity<?> getStreamMetrics() {
+        return ResponseEntity.ok(appointmentEventBroadcaster.metrics());
+    }
+}
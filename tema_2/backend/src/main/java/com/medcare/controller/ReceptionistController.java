@@ -1,13 +1,38 @@
 package com.medcare.controller;
 
+import com.medcare.dto.AppointmentChanges;
+import com.medcare.dto.AppointmentFilter;
+import com.medcare.dto.AppointmentLookup;
+import com.medcare.dto.AppointmentPage;
 import com.medcare.dto.AppointmentRequest;
+import com.medcare.dto.AppointmentSeriesRequest;
+import com.medcare.dto.AppointmentView;
+import com.medcare.dto.BulkStatusRequest;
+import com.medcare.dto.CalendarResponse;
+import com.medcare.dto.DashboardResponse;
+import com.medcare.dto.PatientMatch;
 import com.medcare.model.Appointment;
+import com.medcare.security.UserPrincipal;
+import com.medcare.service.AppointmentEventBroadcaster;
+import com.medcare.service.CollectionVersions;
+import com.medcare.service.DashboardService;
+import com.medcare.service.IdempotencyCache;
+import com.medcare.service.PatientNameIndex;
 import com.medcare.service.ReceptionistService;
+import com.medcare.service.SlotService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 
 @RestController
@@ -17,40 +42,148 @@ import java.util.List;
 public class ReceptionistController {
 
     private final ReceptionistService receptionistService;
+    private final SlotService slotService;
+    private final IdempotencyCache idempotencyCache;
+    private final ConditionalGet conditionalGet;
+    private final AppointmentEventBroadcaster appointmentEventBroadcaster;
+    private final DashboardService dashboardService;
+    private final PatientNameIndex patientNameIndex;
 
-    public ReceptionistController(ReceptionistService receptionistService) {
+    public ReceptionistController(ReceptionistService receptionistService, SlotService slotService,
+                                  IdempotencyCache idempotencyCache, ConditionalGet conditionalGet,
+                                  AppointmentEventBroadcaster appointmentEventBroadcaster,
+                                  DashboardService dashboardService, PatientNameIndex patientNameIndex) {
         this.receptionistService = receptionistService;
+        this.slotService = slotService;
+        this.idempotencyCache = idempotencyCache;
+        this.conditionalGet = conditionalGet;
+        this.appointmentEventBroadcaster = appointmentEventBroadcaster;
+        this.dashboardService = dashboardService;
+        this.patientNameIndex = patientNameIndex;
     }
 
     @PostMapping("/appointments")
-    public ResponseEntity<?> createAppointment(@Valid @RequestBody AppointmentRequest request) {
-        return ResponseEntity.ok(receptionistService.createAppointment(request));
+    public ResponseEntity<AppointmentView> createAppointment(
+            @Valid @RequestBody AppointmentRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return ResponseEntity.ok(AppointmentView.of(receptionistService.createAppointment(request)));
+        }
+        return ResponseEntity.ok(idempotencyCache.execute(principal.getId(), idempotencyKey, request,
+                () -> AppointmentView.of(receptionistService.createAppointment(request))));
+    }
+
+    @PostMapping("/appointments/batch")
+    public ResponseEntity<?> createAppointments(@RequestBody List<AppointmentRequest> requests) {
+        return ResponseEntity.ok(receptionistService.createAppointments(requests));
+    }
+
+    @PostMapping("/appointments/series")
+    public ResponseEntity<?> createAppointmentSeries(@Valid @RequestBody AppointmentSeriesRequest request) {
+        return ResponseEntity.ok(receptionistService.createAppointmentSeries(request));
     }
 
     @PutMapping("/appointments/{id}/status")
     public ResponseEntity<?> updateAppointmentStatus(
             @PathVariable Long id,
             @RequestParam Appointment.AppointmentStatus status) {
+        if (receptionistService.isStatusWriteBehind()) {
+            return ResponseEntity.accepted().body(receptionistService.queueAppointmentStatus(id, status));
+        }
         return ResponseEntity.ok(receptionistService.updateAppointmentStatus(id, status));
     }
 
+    @PutMapping("/appointments/status")
+    public ResponseEntity<?> updateAppointmentStatuses(@Valid @RequestBody BulkStatusRequest request) {
+        return ResponseEntity.ok(receptionistService.updateAppointmentStatuses(request));
+    }
+
     @GetMapping("/appointments")
-    public ResponseEntity<List<Appointment>> getAllAppointments() {
-        return ResponseEntity.ok(receptionistService.getAllAppointments());
+    public ResponseEntity<AppointmentPage<AppointmentView>> getAppointments(AppointmentFilter filter, WebRequest request) {
+        return conditionalGet.respond(request, CollectionVersions.Kind.APPOINTMENTS,
+                () -> receptionistService.findAppointments(filter));
+    }
+
+    @GetMapping("/appointments/lookup")
+    public ResponseEntity<AppointmentLookup> lookupAppointments(@RequestParam List<Long> ids, WebRequest request) {
+        return conditionalGet.respond(request, CollectionVersions.Kind.APPOINTMENTS,
+                () -> receptionistService.getAppointments(ids));
+    }
+
+    @GetMapping(value = "/appointments/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAppointments(
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return appointmentEventBroadcaster.subscribe(doctorId, date);
+    }
+
+    // Not ETag-checked: the answer also depends on the change watermark, which moves independently
+    // of the collection version. An empty delta is already a single index probe.
+    @GetMapping("/appointments/changes")
+    public ResponseEntity<AppointmentChanges> getAppointmentChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(receptionistService.findChanges(since, size));
     }
 
     @GetMapping("/appointments/{id}")
-    public ResponseEntity<Appointment> getAppointment(@PathVariable Long id) {
-        return ResponseEntity.ok(receptionistService.getAppointment(id));
+    public ResponseEntity<AppointmentView> getAppointment(@PathVariable Long id, WebRequest request) {
+        return conditionalGet.respond(request, CollectionVersions.Kind.APPOINTMENTS,
+                () -> receptionistService.getAppointment(id));
+    }
+
+    @GetMapping("/calendar")
+    public ResponseEntity<CalendarResponse> getCalendar(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam(required = false) Integer perDay,
+            WebRequest request) {
+        return conditionalGet.respond(request, CollectionVersions.Kind.APPOINTMENTS,
+                () -> receptionistService.getCalendar(month, doctorId, perDay));
+    }
+
+    @GetMapping("/dashboard")
+    public ResponseEntity<DashboardResponse> getDashboard(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(dashboardService.getDashboard(date));
+    }
+
+    // Typo-tolerant lookup of returning patients, best matches first
+    @GetMapping("/patients/search")
+    public ResponseEntity<List<PatientMatch>> searchPatients(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(patientNameIndex.search(q, limit));
     }
 
     @GetMapping("/doctors")
-    public ResponseEntity<?> getAllDoctors() {
-        return ResponseEntity.ok(receptionistService.getAllDoctors());
+    public ResponseEntity<?> getAllDoctors(WebRequest request) {
+        return conditionalGet.respond(request, CollectionVersions.Kind.DOCTORS, receptionistService::getAllDoctors);
+    }
+
+    @GetMapping("/doctors/{id}/slots")
+    public ResponseEntity<?> getFreeSlots(
+            @PathVariable Long id,
+            @RequestParam Long serviceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(slotService.findFreeSlots(id, serviceId, from, to, limit));
+    }
+
+    @GetMapping("/availability")
+    public ResponseEntity<?> getEarliestAvailability(
+            @RequestParam String specialization,
+            @RequestParam Long serviceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(slotService.findEarliestBySpecialization(specialization, serviceId, from, to, limit));
     }
 
     @GetMapping("/services")
-    public ResponseEntity<?> getAllServices() {
-        return ResponseEntity.ok(receptionistService.getAllServices());
+    public ResponseEntity<?> getAllServices(WebRequest request) {
+        return conditionalGet.respond(request, CollectionVersions.Kind.SERVICES, receptionistService::getAllServices);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.medcare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class AppointmentChanges {
+    // Ordered by change version, then id
+    private List<AppointmentView> items;
+    // Pass back as since on the next call
+    private String since;
+    // true when more changes are waiting beyond this page
+    private boolean hasMore;
+}
@@ -0,0 +1,56 @@
+package com.medcare.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.medcare.model.Appointment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Pushed to stream subscribers. "created" and "status" describe one appointment; "bulk-status" carries
+// the selection of a bulk update, and clients pick up the affected rows through the changes endpoint.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AppointmentEvent {
+    public static final String CREATED = "created";
+    public static final String STATUS = "status";
+    public static final String BULK_STATUS = "bulk-status";
+
+    private String type;
+    private Long appointmentId;
+    // Only set on "created" events
+    private String patientName;
+    // null when the event may concern any doctor
+    private Long doctorId;
+    private LocalDateTime appointmentTime;
+    private LocalDateTime endTime;
+    // Only set on bulk events selected by day
+    private LocalDate day;
+    private List<Long> ids;
+    private Appointment.AppointmentStatus status;
+    // null for write-behind changes that have not been flushed yet
+    private Long changeVersion;
+
+    public static AppointmentEvent of(String type, Appointment appointment) {
+        return new AppointmentEvent(type, appointment.getId(),
+                CREATED.equals(type) ? appointment.getPatientName() : null, appointment.getDoctor().getId(),
+                appointment.getAppointmentTime(), appointment.getEndTime(), null, null,
+                appointment.getStatus(), appointment.getChangeVersion());
+    }
+
+    // Delivered to a subscriber when nothing in the event rules out its doctor or day
+    public boolean concerns(Long subscribedDoctorId, LocalDate subscribedDay) {
+        if (subscribedDoctorId != null && doctorId != null && !subscribedDoctorId.equals(doctorId)) {
+            return false;
+        }
+        if (subscribedDay != null) {
+            LocalDate eventDay = day != null ? day : appointmentTime != null ? appointmentTime.toLocalDate() : null;
+            return eventDay == null || subscribedDay.equals(eventDay);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,29 @@
+package com.medcare.dto;
+
+import com.medcare.model.Appointment;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+import java.time.LocalDateTime;
+
+@Data
+public class AppointmentFilter {
+    private Long doctorId;
+
+    private Long serviceId;
+
+    private Appointment.AppointmentStatus status;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    // matched case-insensitively against the start of the patient name
+    private String patient;
+
+    // opaque value of nextCursor from the previous page
+    private String cursor;
+
+    private Integer size;
+}
@@ -0,0 +1,14 @@
+package com.medcare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class AppointmentLookup {
+    // In the order the ids were requested
+    private List<AppointmentView> items;
+    // Requested ids with no appointment
+    private List<Long> missing;
+}
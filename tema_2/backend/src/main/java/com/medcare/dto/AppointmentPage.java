@@ -0,0 +1,13 @@
+package com.medcare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class AppointmentPage<T> {
+    private List<T> items;
+    // null on the last page
+    private String nextCursor;
+}
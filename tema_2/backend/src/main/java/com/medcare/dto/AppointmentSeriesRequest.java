@@ -0,0 +1,26 @@
+package com.medcare.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+public class AppointmentSeriesRequest {
+    @NotBlank
+    private String patientName;
+
+    @NotNull
+    private Long doctorId;
+
+    @NotNull
+    private Long serviceId;
+
+    @NotNull
+    private LocalDateTime firstAppointmentTime;
+
+    @NotNull
+    @Valid
+    private RecurrenceRule recurrence;
+}
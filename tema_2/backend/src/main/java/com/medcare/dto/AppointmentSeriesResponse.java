@@ -0,0 +1,13 @@
+package com.medcare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class AppointmentSeriesResponse {
+    // the series is only stored when none of its occurrences conflict
+    private boolean created;
+    private List<SeriesOccurrence> occurrences;
+}
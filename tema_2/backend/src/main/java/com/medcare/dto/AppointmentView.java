@@ -0,0 +1,69 @@
+package com.medcare.dto;
+
+import com.medcare.model.Appointment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// Read model of an appointment, selected column by column in JPQL instead of loading the entity graph.
+// Keeps the doctor/service nesting of the entity JSON so clients can read either.
+@Data
+@NoArgsConstructor
+public class AppointmentView {
+    private Long id;
+    private String patientName;
+    private LocalDateTime appointmentTime;
+    private LocalDateTime endTime;
+    private Appointment.AppointmentStatus status;
+    private DoctorRef doctor;
+    private ServiceRef service;
+    private Long changeVersion;
+
+    public AppointmentView(Long id, String patientName, LocalDateTime appointmentTime, LocalDateTime endTime,
+                           Appointment.AppointmentStatus status,
+                           Long doctorId, String doctorName, String doctorSpecialization,
+                           Long serviceId, String serviceName, BigDecimal servicePrice, Duration serviceDuration,
+                           Long changeVersion) {
+        this.id = id;
+        this.patientName = patientName;
+        this.appointmentTime = appointmentTime;
+        this.endTime = endTime;
+        this.status = status;
+        this.doctor = new DoctorRef(doctorId, doctorName, doctorSpecialization);
+        this.service = new ServiceRef(serviceId, serviceName, servicePrice, serviceDuration);
+        this.changeVersion = changeVersion;
+    }
+
+    // From an appointment whose doctor and service are loaded, e.g. one that was just created
+    public static AppointmentView of(Appointment appointment) {
+        return new AppointmentView(appointment.getId(), appointment.getPatientName(),
+                appointment.getAppointmentTime(), appointment.getEndTime(), appointment.getStatus(),
+                appointment.getDoctor().getId(), appointment.getDoctor().getName(),
+                appointment.getDoctor().getSpecialization(),
+                appointment.getService().getId(), appointment.getService().getName(),
+                appointment.getService().getPrice(), appointment.getService().getDuration(),
+                appointment.getChangeVersion());
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DoctorRef {
+        private Long id;
+        private String name;
+        private String specialization;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ServiceRef {
+        private Long id;
+        private String name;
+        private BigDecimal price;
+        private Duration duration;
+    }
+}
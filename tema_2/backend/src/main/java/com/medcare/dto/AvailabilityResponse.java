@@ -0,0 +1,13 @@
+package com.medcare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class AvailabilityResponse {
+    private List<DoctorSlot> slots;
+    // false when some doctors could not be searched within the latency budget
+    private boolean complete;
+}
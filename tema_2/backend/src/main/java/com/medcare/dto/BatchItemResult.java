@@ -0,0 +1,21 @@
+package com.medcare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BatchItemResult {
+    private int index;
+    private Long appointmentId;
+    // null when the item was created
+    private String error;
+
+    public static BatchItemResult created(int index, Long appointmentId) {
+        return new BatchItemResult(index, appointmentId, null);
+    }
+
+    public static BatchItemResult rejected(int index, String error) {
+        return new BatchItemResult(index, null, error);
+    }
+}
@@ -0,0 +1,22 @@
+package com.medcare.dto;
+
+import com.medcare.model.Appointment;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import java.time.LocalDate;
+import java.util.List;
+
+// Either ids or a day (optionally narrowed by doctor and current status) selects the appointments
+@Data
+public class BulkStatusRequest {
+    private List<Long> ids;
+
+    private Long doctorId;
+
+    private LocalDate day;
+
+    private Appointment.AppointmentStatus currentStatus;
+
+    @NotNull
+    private Appointment.AppointmentStatus status;
+}
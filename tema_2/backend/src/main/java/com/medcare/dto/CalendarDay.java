@@ -0,0 +1,36 @@
+package com.medcare.dto;
+
+import com.medcare.model.Appointment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class CalendarDay {
+    private LocalDate date;
+    private long total;
+    private Map<Appointment.AppointmentStatus, Long> counts;
+    // The day's earliest appointments, at most perDay of them
+    private List<Entry> first;
+
+    public CalendarDay(LocalDate date) {
+        this(date, 0, new EnumMap<>(Appointment.AppointmentStatus.class), new ArrayList<>());
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Entry {
+        private Long id;
+        private LocalDateTime appointmentTime;
+        private String patientName;
+        private Appointment.AppointmentStatus status;
+        private String doctorName;
+        private String serviceName;
+    }
+}
@@ -0,0 +1,16 @@
+package com.medcare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.time.YearMonth;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CalendarResponse {
+    private YearMonth month;
+    // null when the calendar covers every doctor
+    private Long doctorId;
+    // Only days that have appointments, in date order
+    private List<CalendarDay> days;
+}
@@ -0,0 +1,22 @@
+package com.medcare.dto;
+
+import com.medcare.model.Appointment;
+import com.medcare.model.Doctor;
+import com.medcare.model.MedicalService;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class DashboardResponse {
+    private LocalDate date;
+    private List<AppointmentView> appointments;
+    private Map<Appointment.AppointmentStatus, Long> countsByStatus;
+    // Keyed by doctor id
+    private Map<Long, Long> countsByDoctor;
+    private List<Doctor> doctors;
+    private List<MedicalService> services;
+}
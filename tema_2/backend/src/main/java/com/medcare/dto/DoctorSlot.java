@@ -0,0 +1,14 @@
+package com.medcare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class DoctorSlot {
+    private Long doctorId;
+    private String doctorName;
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
@@ -0,0 +1,24 @@
+package com.medcare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class PatientMatch {
+    private String patientName;
+    // Trigram similarity to the query, 0..1
+    private double similarity;
+    private int appointmentCount;
+    // Most recent first; details can be fetched through the appointment lookup endpoint
+    private List<AppointmentRef> latestAppointments;
+
+    @Data
+    @AllArgsConstructor
+    public static class AppointmentRef {
+        private Long id;
+        private LocalDateTime appointmentTime;
+    }
+}
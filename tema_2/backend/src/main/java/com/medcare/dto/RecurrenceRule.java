@@ -0,0 +1,26 @@
+package com.medcare.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import java.time.LocalDate;
+
+@Data
+public class RecurrenceRule {
+    @NotNull
+    private Frequency frequency;
+
+    @Min(1)
+    private int interval = 1;
+
+    // Either count or until bounds the series; both may be given
+    private Integer count;
+
+    private LocalDate until;
+
+    public enum Frequency {
+        DAILY,
+        WEEKLY,
+        MONTHLY
+    }
+}
@@ -0,0 +1,15 @@
+package com.medcare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class SeriesOccurrence {
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private Long appointmentId;
+    // null when the occurrence is free
+    private String conflict;
+}
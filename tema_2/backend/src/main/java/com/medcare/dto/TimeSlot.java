@@ -0,0 +1,12 @@
+package com.medcare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class TimeSlot {
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
@@ -5,42 +5,72 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", indexes = {
+    @Index(name = "idx_appointments_doctor_time", columnList = "doctor_id, appointment_time, end_time"),
+    @Index(name = "idx_appointments_time_id", columnList = "appointment_time, id"),
+    @Index(name = "idx_appointments_change_version", columnList = "change_version, id")
+})
 public class Appointment {
+    // Pooled sequence ids let Hibernate batch appointment inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointments_seq")
+    @SequenceGenerator(name = "appointments_seq", sequenceName = "appointments_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String patientName;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "doctor_id", nullable = false)
     private Doctor doctor;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "service_id", nullable = false)
     private MedicalService service;
 
     @Column(nullable = false)
     private LocalDateTime appointmentTime;
 
+    @Column(name = "end_time")
+    private LocalDateTime endTime;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private AppointmentStatus status;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by", nullable = false)
     private User createdBy;
 
+    // Bumped on every create and status change; drives the delta sync endpoint
+    @Column(name = "change_version")
+    private Long changeVersion;
+
+    @PrePersist
+    void computeEndTime() {
+        if (endTime == null && service != null) {
+            endTime = appointmentTime.plus(service.getDuration());
+        }
+    }
+
     public enum AppointmentStatus {
         NEW,
         IN_PROGRESS,
-        COMPLETED
+        COMPLETED;
+
+        // Statuses an appointment may move to this status from
+        public List<AppointmentStatus> allowedPredecessors() {
+            return switch (this) {
+                case NEW -> List.of();
+                case IN_PROGRESS -> List.of(NEW);
+                case COMPLETED -> List.of(NEW, IN_PROGRESS);
+            };
+        }
     }
 } 
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.medcare.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Data;
 
@@ -14,6 +15,8 @@ public class User {
     @Column(unique = true, nullable = false)
     private String username;
 
+    // Accepted when creating users, never written back out
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(nullable = false)
     private String password;
 
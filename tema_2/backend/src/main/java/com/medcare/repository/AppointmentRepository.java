@@ -1,25 +1,169 @@
 package com.medcare.repository;
 
+import com.medcare.dto.AppointmentView;
 import com.medcare.model.Appointment;
 import com.medcare.model.Doctor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+public interface AppointmentRepository extends JpaRepository<Appointment, Long>, JpaSpecificationExecutor<Appointment>,
+        AppointmentViewQueries {
+
+    String VIEW_SELECT = "SELECT new com.medcare.dto.AppointmentView(a.id, a.patientName, a.appointmentTime, " +
+            "a.endTime, a.status, d.id, d.name, d.specialization, s.id, s.name, s.price, s.duration, a.changeVersion) " +
+            "FROM Appointment a JOIN a.doctor d JOIN a.service s ";
+
+    @Query(VIEW_SELECT + "WHERE a.id = :id")
+    Optional<AppointmentView> findViewById(@Param("id") Long id);
+
+    @Query(VIEW_SELECT + "WHERE a.id IN :ids")
+    List<AppointmentView> findViewsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query(VIEW_SELECT + "WHERE a.appointmentTime BETWEEN :start AND :end ORDER BY a.appointmentTime, a.id")
+    List<AppointmentView> findViewsBetweenDates(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // Rows after the (since, afterId) position up to the watermark, in change order
+    @Query(VIEW_SELECT + "WHERE a.changeVersion <= :upTo AND (a.changeVersion > :since " +
+            "OR (a.changeVersion = :since AND a.id > :afterId)) ORDER BY a.changeVersion, a.id")
+    List<AppointmentView> findViewChanges(@Param("since") long since,
+                                          @Param("afterId") long afterId,
+                                          @Param("upTo") long upTo,
+                                          Pageable page);
+
+    @Query("SELECT CAST(a.appointmentTime AS LocalDate), a.status, COUNT(a) FROM Appointment a " +
+            "WHERE a.appointmentTime >= :from AND a.appointmentTime < :to " +
+            "AND (:doctorId IS NULL OR a.doctor.id = :doctorId) " +
+            "GROUP BY CAST(a.appointmentTime AS LocalDate), a.status")
+    List<Object[]> countByDayAndStatus(@Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to,
+                                       @Param("doctorId") Long doctorId);
+
+    @Query("SELECT a.id, a.appointmentTime, a.status FROM Appointment a WHERE a.id IN :ids " +
+            "AND a.appointmentTime >= :from AND a.appointmentTime < :to " +
+            "AND (:doctorId IS NULL OR a.doctor.id = :doctorId)")
+    List<Object[]> findStatusesByIds(@Param("ids") Collection<Long> ids,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to,
+                                     @Param("doctorId") Long doctorId);
+
+    // The first perDay appointments of every day in the range:
+    // (id, appointment_time, patient_name, status, doctor name, service name). Names are joined onto the kept rows only.
+    @Query(value = "SELECT ranked.id, ranked.appointment_time, ranked.patient_name, ranked.status, d.name, s.name FROM (" +
+            "SELECT a.id, a.appointment_time, a.patient_name, a.status, a.doctor_id, a.service_id, ROW_NUMBER() OVER (" +
+            "PARTITION BY CAST(a.appointment_time AS DATE) ORDER BY a.appointment_time, a.id) AS position " +
+            "FROM appointments a WHERE a.appointment_time >= :from AND a.appointment_time < :to " +
+            "AND (CAST(:doctorId AS BIGINT) IS NULL OR a.doctor_id = :doctorId)) ranked " +
+            "JOIN doctors d ON d.id = ranked.doctor_id JOIN medical_services s ON s.id = ranked.service_id " +
+            "WHERE ranked.position <= :perDay ORDER BY ranked.appointment_time, ranked.id", nativeQuery = true)
+    List<Object[]> findFirstPerDay(@Param("from") LocalDateTime from,
+                                   @Param("to") LocalDateTime to,
+                                   @Param("doctorId") Long doctorId,
+                                   @Param("perDay") int perDay);
+
+    @Query("SELECT COALESCE(MAX(a.changeVersion), 0) FROM Appointment a")
+    long findMaxChangeVersion();
+
+    @Modifying
+    @Query("UPDATE Appointment a SET a.changeVersion = 1 WHERE a.changeVersion IS NULL")
+    int backfillChangeVersions();
+
+    // Associations are LAZY; every entity read below names the ones it needs, so a call costs one
+    // statement however many rows it returns.
+    @EntityGraph(attributePaths = {"doctor", "service", "createdBy"})
+    Optional<Appointment> findWithAssociationsById(Long id);
+
+    @EntityGraph(attributePaths = {"doctor", "service"})
     List<Appointment> findByDoctorAndAppointmentTimeBetween(
         Doctor doctor, LocalDateTime start, LocalDateTime end);
     
     boolean existsByDoctorAndAppointmentTimeBetween(
         Doctor doctor, LocalDateTime start, LocalDateTime end);
 
-    @Query("SELECT a FROM Appointment a WHERE a.appointmentTime BETWEEN ?1 AND ?2")
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.doctor JOIN FETCH a.service WHERE a.appointmentTime BETWEEN ?1 AND ?2")
     List<Appointment> findAppointmentsBetweenDates(LocalDateTime start, LocalDateTime end);
 
-    @Query("SELECT a.doctor, COUNT(a) FROM Appointment a WHERE a.appointmentTime BETWEEN ?1 AND ?2 GROUP BY a.doctor ORDER BY COUNT(a) DESC")
+    @Query("SELECT d, COUNT(a) FROM Appointment a JOIN a.doctor d WHERE a.appointmentTime BETWEEN ?1 AND ?2 GROUP BY d ORDER BY COUNT(a) DESC")
     List<Object[]> findMostRequestedDoctors(LocalDateTime start, LocalDateTime end);
 
-    @Query("SELECT a.service, COUNT(a) FROM Appointment a WHERE a.appointmentTime BETWEEN ?1 AND ?2 GROUP BY a.service ORDER BY COUNT(a) DESC")
+    @Query("SELECT s, COUNT(a) FROM Appointment a JOIN a.service s WHERE a.appointmentTime BETWEEN ?1 AND ?2 GROUP BY s ORDER BY COUNT(a) DESC")
     List<Object[]> findMostRequestedServices(LocalDateTime start, LocalDateTime end);
+
+    // The overlap probes bound appointment_time on both sides (earliest is start minus the longest booking
+    // duration), so they are a bounded range scan of idx_appointments_doctor_time however long the
+    // doctor's history is, and never touch medical_services
+    @Query("SELECT COUNT(a) > 0 FROM Appointment a WHERE a.doctor.id = :doctorId " +
+            "AND a.appointmentTime > :earliest AND a.appointmentTime < :end AND a.endTime > :start")
+    boolean existsOverlapping(@Param("doctorId") Long doctorId,
+                              @Param("start") LocalDateTime start,
+                              @Param("end") LocalDateTime end,
+                              @Param("earliest") LocalDateTime earliest);
+
+    @Query("SELECT a.id, a.appointmentTime, a.endTime FROM Appointment a WHERE a.doctor.id = :doctorId " +
+            "AND a.appointmentTime > :earliest AND a.appointmentTime < :to AND a.endTime > :from " +
+            "ORDER BY a.appointmentTime")
+    List<Object[]> findBookedIntervals(@Param("doctorId") Long doctorId,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to,
+                                       @Param("earliest") LocalDateTime earliest);
+
+    @EntityGraph(attributePaths = "service")
+    List<Appointment> findByEndTimeIsNull();
+
+    @Modifying
+    @Query("UPDATE Appointment a SET a.status = :status, a.changeVersion = :version " +
+            "WHERE a.id IN :ids AND a.status IN :allowed")
+    int updateStatusByIds(@Param("ids") Collection<Long> ids,
+                          @Param("status") Appointment.AppointmentStatus status,
+                          @Param("allowed") Collection<Appointment.AppointmentStatus> allowed,
+                          @Param("version") long version);
+
+    @Modifying
+    @Query("UPDATE Appointment a SET a.status = :status, a.changeVersion = :version " +
+            "WHERE (:doctorId IS NULL OR a.doctor.id = :doctorId) " +
+            "AND a.appointmentTime >= :from AND a.appointmentTime < :to " +
+            "AND (:current IS NULL OR a.status = :current) AND a.status IN :allowed")
+    int updateStatusByFilter(@Param("doctorId") Long doctorId,
+                             @Param("from") LocalDateTime from,
+                             @Param("to") LocalDateTime to,
+                             @Param("current") Appointment.AppointmentStatus current,
+                             @Param("status") Appointment.AppointmentStatus status,
+                             @Param("allowed") Collection<Appointment.AppointmentStatus> allowed,
+                             @Param("version") long version);
+
+    // Moves the id sequence past ids handed out before appointments switched from IDENTITY columns
+    @Query(value = "SELECT setval('appointments_seq', GREATEST(" +
+            "(SELECT COALESCE(MAX(id), 0) FROM appointments) + 50, " +
+            "(SELECT last_value FROM appointments_seq)))", nativeQuery = true)
+    Long alignIdSequence();
+
+    @Query("SELECT a.id, a.patientName, a.appointmentTime FROM Appointment a")
+    List<Object[]> findPatientEntries();
+
+    @Query("SELECT a.id, a.doctor.id, a.appointmentTime, a.endTime, a.service.duration FROM Appointment a")
+    List<Object[]> findLedgerEntries();
+
+    // Availability check and insert in one statement; returns null when the doctor is already booked.
+    @Query(value = "INSERT INTO appointments (id, patient_name, doctor_id, service_id, appointment_time, end_time, status, created_by, change_version) " +
+            "SELECT nextval('appointments_seq'), :patientName, :doctorId, :serviceId, :start, :end, :status, :createdBy, :changeVersion " +
+            "WHERE NOT EXISTS (SELECT 1 FROM appointments a WHERE a.doctor_id = :doctorId " +
+            "AND a.appointment_time > :earliest AND a.appointment_time < :end AND a.end_time > :start) " +
+            "RETURNING id", nativeQuery = true)
+    Long insertIfDoctorAvailable(@Param("patientName") String patientName,
+                                 @Param("doctorId") Long doctorId,
+                                 @Param("serviceId") Long serviceId,
+                                 @Param("start") LocalDateTime start,
+                                 @Param("end") LocalDateTime end,
+                                 @Param("status") String status,
+                                 @Param("createdBy") Long createdBy,
+                                 @Param("changeVersion") long changeVersion,
+                                 @Param("earliest") LocalDateTime earliest);
 } 
\ No newline at end of file
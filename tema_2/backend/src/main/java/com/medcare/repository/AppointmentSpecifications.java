@@ -0,0 +1,68 @@
+package com.medcare.repository;
+
+import com.medcare.dto.AppointmentFilter;
+import com.medcare.model.Appointment;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public final class AppointmentSpecifications {
+
+    private AppointmentSpecifications() {
+    }
+
+    // pending holds statuses acknowledged but not yet written (StatusWriteBehindQueue); the status filter
+    // matches on them instead of the stored status, so a page holds exactly the rows it shows
+    public static Specification<Appointment> matching(AppointmentFilter filter,
+                                                      Map<Long, Appointment.AppointmentStatus> pending) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getDoctorId() != null) {
+                predicates.add(cb.equal(root.get("doctor").get("id"), filter.getDoctorId()));
+            }
+            if (filter.getServiceId() != null) {
+                predicates.add(cb.equal(root.get("service").get("id"), filter.getServiceId()));
+            }
+            if (filter.getStatus() != null) {
+                predicates.add(hasStatus(filter.getStatus(), pending).toPredicate(root, query, cb));
+            }
+            if (filter.getFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("appointmentTime"), filter.getFrom()));
+            }
+            if (filter.getTo() != null) {
+                predicates.add(cb.lessThan(root.get("appointmentTime"), filter.getTo()));
+            }
+            if (filter.getPatient() != null && !filter.getPatient().isBlank()) {
+                String prefix = filter.getPatient().trim().toLowerCase()
+                        .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+                predicates.add(cb.like(cb.lower(root.get("patientName")), prefix + "%", '\\'));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static Specification<Appointment> hasStatus(Appointment.AppointmentStatus status,
+                                                        Map<Long, Appointment.AppointmentStatus> pending) {
+        List<Long> queuedAsStatus = new ArrayList<>();
+        List<Long> queuedAsOther = new ArrayList<>();
+        pending.forEach((id, queued) -> (queued == status ? queuedAsStatus : queuedAsOther).add(id));
+        return (root, query, cb) -> {
+            Predicate stored = cb.equal(root.get("status"), status);
+            if (!queuedAsOther.isEmpty()) {
+                stored = cb.and(stored, cb.not(root.get("id").in(queuedAsOther)));
+            }
+            return queuedAsStatus.isEmpty() ? stored : cb.or(stored, root.get("id").in(queuedAsStatus));
+        };
+    }
+
+    // Rows strictly after (time, id) in (appointmentTime, id) order
+    public static Specification<Appointment> after(LocalDateTime time, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("appointmentTime"), time),
+                cb.and(cb.equal(root.get("appointmentTime"), time), cb.greaterThan(root.get("id"), id)));
+    }
+}
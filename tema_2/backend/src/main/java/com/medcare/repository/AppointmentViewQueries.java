@@ -0,0 +1,12 @@
+package com.medcare.repository;
+
+import com.medcare.dto.AppointmentView;
+import com.medcare.model.Appointment;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface AppointmentViewQueries {
+    List<AppointmentView> findViews(Specification<Appointment> specification, Sort sort, int limit);
+}
@@ -0,0 +1,43 @@
+package com.medcare.repository;
+
+import com.medcare.dto.AppointmentView;
+import com.medcare.model.Appointment;
+import com.medcare.model.Doctor;
+import com.medcare.model.MedicalService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+class AppointmentViewQueriesImpl implements AppointmentViewQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AppointmentView> findViews(Specification<Appointment> specification, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AppointmentView> query = cb.createQuery(AppointmentView.class);
+        Root<Appointment> root = query.from(Appointment.class);
+        Join<Appointment, Doctor> doctor = root.join("doctor");
+        Join<Appointment, MedicalService> service = root.join("service");
+
+        query.select(cb.construct(AppointmentView.class,
+                root.get("id"), root.get("patientName"), root.get("appointmentTime"), root.get("endTime"),
+                root.get("status"),
+                doctor.get("id"), doctor.get("name"), doctor.get("specialization"),
+                service.get("id"), service.get("name"), service.get("price"), service.get("duration"),
+                root.get("changeVersion")));
+        query.where(specification.toPredicate(root, query, cb));
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
@@ -1,10 +1,22 @@
 package com.medcare.repository;
 
 import com.medcare.model.Doctor;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
+import java.util.Optional;
 
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
     List<Doctor> findByActiveTrue();
     List<Doctor> findBySpecialization(String specialization);
+
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(:doctorId)", nativeQuery = true)
+    Integer acquireBookingLock(@Param("doctorId") Long doctorId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Doctor d WHERE d.id = :doctorId")
+    Optional<Doctor> findForBookingById(@Param("doctorId") Long doctorId);
 } 
\ No newline at end of file
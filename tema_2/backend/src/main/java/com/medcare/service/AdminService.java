@@ -1,5 +1,6 @@
 package com.medcare.service;
 
+import com.medcare.dto.AppointmentView;
 import com.medcare.model.*;
 import com.medcare.repository.*;
 import org.springframework.stereotype.Service;
@@ -18,14 +19,20 @@ public class AdminService {
     private final DoctorRepository doctorRepository;
     private final MedicalServiceRepository medicalServiceRepository;
     private final AppointmentRepository appointmentRepository;
+    private final CatalogCache catalogCache;
+    private final CollectionVersions collectionVersions;
 
     public AdminService(UserService userService, DoctorRepository doctorRepository,
                        MedicalServiceRepository medicalServiceRepository,
-                       AppointmentRepository appointmentRepository) {
+                       AppointmentRepository appointmentRepository,
+                       CatalogCache catalogCache,
+                       CollectionVersions collectionVersions) {
         this.userService = userService;
         this.doctorRepository = doctorRepository;
         this.medicalServiceRepository = medicalServiceRepository;
         this.appointmentRepository = appointmentRepository;
+        this.catalogCache = catalogCache;
+        this.collectionVersions = collectionVersions;
     }
 
     @Transactional
@@ -40,6 +47,8 @@ public class AdminService {
 
     @Transactional
     public Doctor createDoctor(Doctor doctor) {
+        catalogCache.invalidate();
+        collectionVersions.changed(CollectionVersions.Kind.DOCTORS);
         return doctorRepository.save(doctor);
     }
 
@@ -53,6 +62,9 @@ public class AdminService {
         existingDoctor.setStartTime(doctor.getStartTime());
         existingDoctor.setEndTime(doctor.getEndTime());
         
+        catalogCache.invalidate();
+        collectionVersions.changed(CollectionVersions.Kind.DOCTORS);
+        collectionVersions.changed(CollectionVersions.Kind.APPOINTMENTS);
         return doctorRepository.save(existingDoctor);
     }
 
@@ -62,14 +74,19 @@ public class AdminService {
                 .orElseThrow(() -> new RuntimeException("Doctor not found"));
         doctor.setActive(false);
         doctorRepository.save(doctor);
+        catalogCache.invalidate();
+        collectionVersions.changed(CollectionVersions.Kind.DOCTORS);
+        collectionVersions.changed(CollectionVersions.Kind.APPOINTMENTS);
     }
 
     public List<Doctor> getAllDoctors() {
-        return doctorRepository.findByActiveTrue();
+        return catalogCache.findActiveDoctors();
     }
 
     @Transactional
     public MedicalService createService(MedicalService service) {
+        catalogCache.invalidate();
+        collectionVersions.changed(CollectionVersions.Kind.SERVICES);
         return medicalServiceRepository.save(service);
     }
 
@@ -82,6 +99,9 @@ public class AdminService {
         existingService.setPrice(service.getPrice());
         existingService.setDuration(service.getDuration());
         
+        catalogCache.invalidate();
+        collectionVersions.changed(CollectionVersions.Kind.SERVICES);
+        collectionVersions.changed(CollectionVersions.Kind.APPOINTMENTS);
         return medicalServiceRepository.save(existingService);
     }
 
@@ -91,17 +111,20 @@ public class AdminService {
                 .orElseThrow(() -> new RuntimeException("Service not found"));
         service.setActive(false);
         medicalServiceRepository.save(service);
+        catalogCache.invalidate();
+        collectionVersions.changed(CollectionVersions.Kind.SERVICES);
+        collectionVersions.changed(CollectionVersions.Kind.APPOINTMENTS);
     }
 
     public List<MedicalService> getAllServices() {
-        return medicalServiceRepository.findByActiveTrue();
+        return catalogCache.findActiveServices();
     }
 
     public Map<String, Object> getAppointmentsReport(String startDate, String endDate) {
         LocalDateTime start = parseDateTime(startDate);
         LocalDateTime end = parseDateTime(endDate);
         
-        List<Appointment> appointments = appointmentRepository.findAppointmentsBetweenDates(start, end);
+        List<AppointmentView> appointments = appointmentRepository.findViewsBetweenDates(start, end);
         
         return Map.of(
             "totalAppointments", appointments.size(),
@@ -0,0 +1,54 @@
+package com.medcare.service;
+
+import com.medcare.repository.AppointmentRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+// Hands out the increasing change versions stamped on appointment writes. A version stays in flight until
+// its transaction completes, and the watermark never passes an in-flight version, so a delta reader that
+// stops at the watermark cannot skip a row that commits later with a lower version.
+@Component
+public class AppointmentChangeVersions {
+
+    private final AppointmentRepository appointmentRepository;
+    private final NavigableSet<Long> inFlight = new TreeSet<>();
+    private long last;
+
+    public AppointmentChangeVersions(AppointmentRepository appointmentRepository) {
+        this.appointmentRepository = appointmentRepository;
+    }
+
+    // Rows written before versions existed are backfilled with 1, so new versions start above that
+    @PostConstruct
+    public synchronized void load() {
+        last = Math.max(appointmentRepository.findMaxChangeVersion(), 1);
+    }
+
+    public synchronized long next() {
+        long version = ++last;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            inFlight.add(version);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    completed(version);
+                }
+            });
+        }
+        return version;
+    }
+
+    // Highest version below which every write has either committed or rolled back
+    public synchronized long watermark() {
+        return inFlight.isEmpty() ? last : inFlight.first() - 1;
+    }
+
+    private synchronized void completed(long version) {
+        inFlight.remove(version);
+    }
+}
@@ -0,0 +1,285 @@
+package com.medcare.service;
+
+import com.medcare.dto.AppointmentEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fans committed appointment events out to SSE subscribers. An idle subscriber costs an emitter and an
+// empty queue, not a thread: publishing only enqueues, and a small shared pool drains queues that have
+// work. A subscriber whose queue fills up is sent a "resync" event and closed; it reconnects and catches
+// up through the changes endpoint instead of slowing the others down. Sends are blocking servlet writes,
+// so a client that stops reading can hold a pool thread until the connector's write timeout: a send that
+// runs past sendTimeoutMs drops the subscriber, and the pool gets a stand-in thread until that send
+// returns, so stalled clients never take senders away from the healthy ones.
+@Component
+public class AppointmentEventBroadcaster {
+
+    private static final Object HEARTBEAT = new Object();
+    private static final Object RESYNC = new Object();
+
+    private final ThreadPoolTaskExecutor streamSendExecutor;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong overflowed = new AtomicLong();
+    private final AtomicLong disconnected = new AtomicLong();
+    private final AtomicLong stalledSends = new AtomicLong();
+    private int stalledThreads;
+
+    @Value("${app.events.maxSubscribers:5000}")
+    private int maxSubscribers;
+
+    @Value("${app.events.queueCapacity:256}")
+    private int queueCapacity;
+
+    @Value("${app.events.heartbeatMs:25000}")
+    private long heartbeatMs;
+
+    @Value("${app.events.timeoutMs:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.events.sendTimeoutMs:5000}")
+    private long sendTimeoutMs;
+
+    // Cap on stand-in threads, for when a large share of the clients stall at once
+    @Value("${app.events.maxStalledSends:64}")
+    private int maxStalledSends;
+
+    private ScheduledExecutorService heartbeats;
+
+    public AppointmentEventBroadcaster(@Qualifier("streamSendExecutor") ThreadPoolTaskExecutor streamSendExecutor) {
+        this.streamSendExecutor = streamSendExecutor;
+    }
+
+    // Heartbeats keep proxies from cutting idle streams and surface dead clients as send failures
+    @PostConstruct
+    public void start() {
+        heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats.scheduleWithFixedDelay(() -> subscribers.forEach(Subscriber::heartbeat),
+                heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        long checkMs = Math.max(sendTimeoutMs / 2, 10);
+        heartbeats.scheduleWithFixedDelay(this::checkStalledSends, checkMs, checkMs, TimeUnit.MILLISECONDS);
+    }
+
+    // Only bookkeeping here: touching the emitter of a stalled send could block this thread as well
+    private void checkStalledSends() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.sendStartedAt;
+            if (started != 0 && now - started > TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs)) {
+                subscriber.stalled(started);
+            }
+        }
+    }
+
+    // Grows the pool by one thread per stalled send and shrinks it back once the send returns
+    private synchronized boolean addStandIn() {
+        if (stalledThreads >= maxStalledSends) {
+            return false;
+        }
+        stalledThreads++;
+        streamSendExecutor.setMaxPoolSize(streamSendExecutor.getMaxPoolSize() + 1);
+        streamSendExecutor.setCorePoolSize(streamSendExecutor.getCorePoolSize() + 1);
+        return true;
+    }
+
+    private synchronized void removeStandIn() {
+        stalledThreads--;
+        streamSendExecutor.setCorePoolSize(streamSendExecutor.getCorePoolSize() - 1);
+        streamSendExecutor.setMaxPoolSize(streamSendExecutor.getMaxPoolSize() - 1);
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    public SseEmitter subscribe(Long doctorId, LocalDate day) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new RuntimeException("Too many open appointment streams");
+        }
+        Subscriber subscriber = new Subscriber(createEmitter(), doctorId, day);
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+        return subscriber.emitter;
+    }
+
+    // Overridden in tests to stand in for the servlet response
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMs);
+    }
+
+    // Events published outside a transaction (write-behind acknowledgements) go out immediately
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(AppointmentEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            if (event.concerns(subscriber.doctorId, subscriber.day)) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    public Map<String, Object> metrics() {
+        return Map.of(
+            "subscribers", subscribers.size(),
+            "delivered", delivered.get(),
+            "overflowed", overflowed.get(),
+            "disconnected", disconnected.get(),
+            "stalledSends", stalledSends.get(),
+            "stalledThreads", stalledThreads()
+        );
+    }
+
+    private synchronized int stalledThreads() {
+        return stalledThreads;
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Long doctorId;
+        private final LocalDate day;
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(queueCapacity + 1);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closing;
+        // System.nanoTime() when the send in progress started, 0 while not sending
+        private volatile long sendStartedAt;
+        private volatile boolean stalled;
+        private boolean standIn;
+
+        Subscriber(SseEmitter emitter, Long doctorId, LocalDate day) {
+            this.emitter = emitter;
+            this.doctorId = doctorId;
+            this.day = day;
+        }
+
+        // The extra slot is kept for RESYNC, so the overflow notice always fits
+        void offer(AppointmentEvent event) {
+            if (closing) {
+                return;
+            }
+            if (queue.size() >= queueCapacity || !queue.offer(event)) {
+                closing = true;
+                overflowed.incrementAndGet();
+                queue.clear();
+                queue.offer(RESYNC);
+            }
+            schedule();
+        }
+
+        // Skipped while events are waiting: they prove the connection is alive just as well
+        void heartbeat() {
+            if (!closing && queue.isEmpty() && queue.offer(HEARTBEAT)) {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    streamSendExecutor.execute(this::drain);
+                } catch (RuntimeException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Object item;
+                while (!stalled && (item = queue.poll()) != null) {
+                    sendStartedAt = System.nanoTime();
+                    try {
+                        send(item);
+                    } finally {
+                        sendFinished();
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                disconnected.incrementAndGet();
+                close();
+            } finally {
+                if (stalled) {
+                    // The stalled send has returned, so the emitter can be closed from this thread now
+                    close();
+                }
+                draining.set(false);
+            }
+            if (!closing && !queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private synchronized void sendFinished() {
+            sendStartedAt = 0;
+            if (standIn) {
+                standIn = false;
+                removeStandIn();
+            }
+        }
+
+        // Called by the watchdog: no more events for this subscriber, and a stand-in thread covers for
+        // the blocked one until its send returns
+        synchronized void stalled(long started) {
+            if (stalled || sendStartedAt != started) {
+                return;
+            }
+            stalled = true;
+            closing = true;
+            subscribers.remove(this);
+            stalledSends.incrementAndGet();
+            standIn = addStandIn();
+        }
+
+        private void send(Object item) throws IOException {
+            if (item == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            } else if (item == RESYNC) {
+                emitter.send(SseEmitter.event().name("resync").data("Reload through the changes endpoint"));
+                close();
+            } else {
+                AppointmentEvent event = (AppointmentEvent) item;
+                SseEmitter.SseEventBuilder builder = SseEmitter.event().name(event.getType())
+                        .data(event, MediaType.APPLICATION_JSON);
+                if (event.getChangeVersion() != null) {
+                    builder.id(String.valueOf(event.getChangeVersion()));
+                }
+                emitter.send(builder);
+                delivered.incrementAndGet();
+            }
+        }
+
+        void close() {
+            closing = true;
+            queue.clear();
+            subscribers.remove(this);
+            emitter.complete();
+        }
+    }
+}
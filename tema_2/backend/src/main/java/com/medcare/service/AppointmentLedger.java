@@ -0,0 +1,194 @@
+package com.medcare.service;
+
+import com.medcare.model.Appointment;
+import com.medcare.repository.AppointmentRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// In-memory copy of every doctor's booked intervals, used to answer overlap checks without a database round trip.
+@Component
+public class AppointmentLedger {
+
+    private final AppointmentRepository appointmentRepository;
+    private final ConcurrentMap<Long, DoctorBook> books = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Long> doctorByAppointment = new ConcurrentHashMap<>();
+
+    public AppointmentLedger(AppointmentRepository appointmentRepository) {
+        this.appointmentRepository = appointmentRepository;
+    }
+
+    @PostConstruct
+    public void load() {
+        books.clear();
+        doctorByAppointment.clear();
+        for (Object[] row : appointmentRepository.findLedgerEntries()) {
+            Long id = (Long) row[0];
+            Long doctorId = (Long) row[1];
+            LocalDateTime start = (LocalDateTime) row[2];
+            LocalDateTime end = row[3] != null ? (LocalDateTime) row[3] : start.plus((Duration) row[4]);
+            book(doctorId).put(new Booking(id, start, end));
+            doctorByAppointment.put(id, doctorId);
+        }
+    }
+
+    public boolean contains(Long appointmentId) {
+        return doctorByAppointment.containsKey(appointmentId);
+    }
+
+    public Optional<Long> doctorOf(Long appointmentId) {
+        return Optional.ofNullable(doctorByAppointment.get(appointmentId));
+    }
+
+    public Optional<Booking> find(Long appointmentId) {
+        DoctorBook book = doctorOf(appointmentId).map(books::get).orElse(null);
+        return book == null ? Optional.empty() : Optional.ofNullable(book.get(appointmentId));
+    }
+
+    public boolean overlaps(Long doctorId, LocalDateTime start, LocalDateTime end) {
+        DoctorBook book = books.get(doctorId);
+        return book != null && book.overlaps(start, end);
+    }
+
+    // Longest booking the doctor has; no booking starting more than this before an instant can still run at it
+    public Duration longest(Long doctorId) {
+        DoctorBook book = books.get(doctorId);
+        return book == null ? Duration.ZERO : book.longest();
+    }
+
+    public List<Booking> bookings(Long doctorId, LocalDateTime from, LocalDateTime to) {
+        DoctorBook book = books.get(doctorId);
+        return book == null ? List.of() : book.between(from, to);
+    }
+
+    // Changes every time one of the doctor's bookings is added, replaced or removed.
+    public long stamp(Long doctorId) {
+        DoctorBook book = books.get(doctorId);
+        return book == null ? 0 : book.stamp();
+    }
+
+    // Records (or re-syncs) an appointment. If called inside a transaction that later rolls back,
+    // the entry is removed again so the ledger never keeps a booking the database does not have.
+    public void record(Appointment appointment) {
+        Long doctorId = appointment.getDoctor().getId();
+        LocalDateTime start = appointment.getAppointmentTime();
+        LocalDateTime end = appointment.getEndTime() != null
+                ? appointment.getEndTime()
+                : start.plus(appointment.getService().getDuration());
+        Booking booking = new Booking(appointment.getId(), start, end);
+        Booking previous = book(doctorId).put(booking);
+        doctorByAppointment.put(booking.appointmentId(), doctorId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        book(doctorId).remove(booking.appointmentId());
+                        if (previous != null) {
+                            book(doctorId).put(previous);
+                        } else {
+                            doctorByAppointment.remove(booking.appointmentId());
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+    private DoctorBook book(Long doctorId) {
+        return books.computeIfAbsent(doctorId, id -> new DoctorBook());
+    }
+
+    public record Booking(Long appointmentId, LocalDateTime start, LocalDateTime end) {
+    }
+
+    // Bookings of one doctor ordered by start time. Because the longest booked duration is tracked,
+    // an overlap probe only has to scan the bookings starting in [start - longest, end).
+    private static final class DoctorBook {
+        private static final Comparator<Booking> ORDER = Comparator
+                .comparing(Booking::start)
+                .thenComparing(Booking::appointmentId);
+
+        private final NavigableSet<Booking> byStart = new TreeSet<>(ORDER);
+        private final Map<Long, Booking> byId = new HashMap<>();
+        private Duration longest = Duration.ZERO;
+        private long stamp;
+
+        synchronized long stamp() {
+            return stamp;
+        }
+
+        synchronized Duration longest() {
+            return longest;
+        }
+
+        synchronized Booking put(Booking booking) {
+            stamp++;
+            Booking previous = byId.put(booking.appointmentId(), booking);
+            if (previous != null) {
+                byStart.remove(previous);
+            }
+            byStart.add(booking);
+            Duration duration = Duration.between(booking.start(), booking.end());
+            if (duration.compareTo(longest) > 0) {
+                longest = duration;
+            }
+            return previous;
+        }
+
+        synchronized Booking get(Long appointmentId) {
+            return byId.get(appointmentId);
+        }
+
+        synchronized void remove(Long appointmentId) {
+            Booking booking = byId.remove(appointmentId);
+            if (booking != null) {
+                stamp++;
+                byStart.remove(booking);
+            }
+        }
+
+        synchronized boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            for (Booking booking : window(start, end)) {
+                if (start.isBefore(booking.end()) && end.isAfter(booking.start())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        synchronized List<Booking> between(LocalDateTime from, LocalDateTime to) {
+            List<Booking> result = new ArrayList<>();
+            for (Booking booking : window(from, to)) {
+                if (booking.end().isAfter(from)) {
+                    result.add(booking);
+                }
+            }
+            return result;
+        }
+
+        private NavigableSet<Booking> window(LocalDateTime start, LocalDateTime end) {
+            Booking lower = new Booking(Long.MIN_VALUE, start.minus(longest), null);
+            Booking upper = new Booking(Long.MIN_VALUE, end, null);
+            if (ORDER.compare(lower, upper) >= 0) {
+                return new TreeSet<>(ORDER);
+            }
+            return byStart.subSet(lower, true, upper, false);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.medcare.service;
+
+import com.medcare.model.Appointment;
+import com.medcare.repository.AppointmentRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+// One-off fixes for appointments rows written by older versions of the schema.
+@Component
+public class AppointmentTableMigration {
+
+    private final AppointmentRepository appointmentRepository;
+    private final DataSource dataSource;
+
+    public AppointmentTableMigration(AppointmentRepository appointmentRepository, DataSource dataSource) {
+        this.appointmentRepository = appointmentRepository;
+        this.dataSource = dataSource;
+    }
+
+    // Runs before any booking can be made, so pooled ids never collide with old IDENTITY ids.
+    @PostConstruct
+    public void alignIdSequence() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+        }
+        appointmentRepository.alignIdSequence();
+    }
+
+    // Appointments created before end_time existed get it filled in once, so the overlap index covers them.
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillEndTimes() {
+        List<Appointment> appointments = appointmentRepository.findByEndTimeIsNull();
+        for (Appointment appointment : appointments) {
+            appointment.setEndTime(appointment.getAppointmentTime().plus(appointment.getService().getDuration()));
+        }
+        appointmentRepository.saveAll(appointments);
+    }
+
+    // Rows from before change versions existed are treated as part of the first version
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillChangeVersions() {
+        appointmentRepository.backfillChangeVersions();
+    }
+}
@@ -0,0 +1,54 @@
+package com.medcare.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// Serializes the conflict check and insert of bookings for the same doctor. Doctor ids are spread over
+// a fixed set of lock stripes, so bookings for different doctors (up to STRIPES of them) never contend.
+@Component
+public class BookingCoordinator {
+
+    private static final int STRIPES = 256;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    public BookingCoordinator() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withDoctorLock(Long doctorId, Supplier<T> booking) {
+        ReentrantLock lock = locks[stripe(doctorId)];
+        lock.lock();
+        try {
+            return booking.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Stripes are always taken in ascending index order, so two multi-doctor bookings cannot deadlock.
+    public <T> T withDoctorLocks(Collection<Long> doctorIds, Supplier<T> booking) {
+        int[] stripes = doctorIds.stream().mapToInt(this::stripe).distinct().sorted().toArray();
+        int locked = 0;
+        try {
+            for (int stripe : stripes) {
+                locks[stripe].lock();
+                locked++;
+            }
+            return booking.get();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                locks[stripes[i]].unlock();
+            }
+        }
+    }
+
+    private int stripe(Long doctorId) {
+        return Long.hashCode(doctorId) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,59 @@
+package com.medcare.service;
+
+import com.medcare.repository.DoctorRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// Cross-node counterpart of BookingCoordinator for deployments with several backend instances.
+// Takes a transaction-scoped lock on the doctor in the shared database: a Postgres advisory lock,
+// or a row lock on the doctor on databases without advisory locks. The row lock only serves the JPA
+// booking path (app.booking.fastPath=false): the conditional INSERT fast path is PostgreSQL-only.
+// BookingGuardClusterTest runs two nodes on H2 through that combination, BookingFastPathTest two on PostgreSQL.
+@Component
+public class BookingGuard {
+
+    private final DoctorRepository doctorRepository;
+    private final DataSource dataSource;
+
+    @Value("${app.booking.clusterLock:false}")
+    private boolean enabled;
+
+    private boolean advisoryLocks;
+
+    public BookingGuard(DoctorRepository doctorRepository, DataSource dataSource) {
+        this.doctorRepository = doctorRepository;
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    public void detectDatabase() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            advisoryLocks = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Held until the surrounding transaction commits or rolls back.
+    public void lockDoctor(Long doctorId) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Booking lock requires an active transaction");
+        }
+        if (advisoryLocks) {
+            doctorRepository.acquireBookingLock(doctorId);
+        } else {
+            doctorRepository.findForBookingById(doctorId);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.medcare.service;
+
+import com.medcare.model.Doctor;
+import com.medcare.model.MedicalService;
+import com.medcare.repository.DoctorRepository;
+import com.medcare.repository.MedicalServiceRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Doctors and medical services change rarely, so catalog reads and bookings resolve them from an
+// in-process snapshot that is replaced wholesale after every catalog write. The snapshot holds detached
+// copies that no persistence context tracks; they are shared by every caller, so treat them as read-only.
+@Component
+public class CatalogCache {
+
+    private final DoctorRepository doctorRepository;
+    private final MedicalServiceRepository medicalServiceRepository;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile Snapshot snapshot;
+
+    public CatalogCache(DoctorRepository doctorRepository, MedicalServiceRepository medicalServiceRepository) {
+        this.doctorRepository = doctorRepository;
+        this.medicalServiceRepository = medicalServiceRepository;
+    }
+
+    public Optional<Doctor> findDoctor(Long id) {
+        return Optional.ofNullable(snapshot().doctors().get(id));
+    }
+
+    public Optional<MedicalService> findService(Long id) {
+        return Optional.ofNullable(snapshot().services().get(id));
+    }
+
+    public List<Doctor> findActiveDoctors() {
+        return snapshot().activeDoctors();
+    }
+
+    public List<MedicalService> findActiveServices() {
+        return snapshot().activeServices();
+    }
+
+    // Over every service, active or not, since existing bookings may use retired ones
+    public Duration longestServiceDuration() {
+        return snapshot().longestService();
+    }
+
+    public List<Doctor> findActiveDoctorsBySpecialization(String specialization) {
+        return snapshot().activeDoctors().stream()
+                .filter(doctor -> doctor.getSpecialization().equalsIgnoreCase(specialization))
+                .collect(Collectors.toList());
+    }
+
+    // Drops the snapshot once the current transaction commits, so the next read sees the new rows.
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict();
+                }
+            });
+        } else {
+            evict();
+        }
+    }
+
+    public Map<String, Object> metrics() {
+        Snapshot current = snapshot;
+        return Map.of(
+            "hits", hits.sum(),
+            "misses", misses.sum(),
+            "generation", generation.get(),
+            "doctors", current == null ? 0 : current.doctors().size(),
+            "services", current == null ? 0 : current.services().size()
+        );
+    }
+
+    private void evict() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            hits.increment();
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+                long loadedAt = generation.get();
+                current = load();
+                // An invalidation that raced with the load means these rows may already be stale.
+                if (generation.get() == loadedAt) {
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Snapshot load() {
+        // Copies, so a load inside a caller's transaction does not leave that transaction's managed
+        // entities in the snapshot, where later changes to them would be flushed or seen by other callers
+        List<Doctor> doctors = doctorRepository.findAll().stream()
+                .map(doctor -> new Doctor(doctor.getId(), doctor.getName(), doctor.getSpecialization(),
+                        doctor.getStartTime(), doctor.getEndTime(), doctor.isActive()))
+                .toList();
+        List<MedicalService> services = medicalServiceRepository.findAll().stream()
+                .map(service -> new MedicalService(service.getId(), service.getName(), service.getPrice(),
+                        service.getDuration(), service.isActive()))
+                .toList();
+        return new Snapshot(
+                doctors.stream().collect(Collectors.toUnmodifiableMap(Doctor::getId, Function.identity())),
+                services.stream().collect(Collectors.toUnmodifiableMap(MedicalService::getId, Function.identity())),
+                doctors.stream().filter(Doctor::isActive)
+                        .sorted(Comparator.comparing(Doctor::getId)).toList(),
+                services.stream().filter(MedicalService::isActive)
+                        .sorted(Comparator.comparing(MedicalService::getId)).toList(),
+                services.stream().map(MedicalService::getDuration).max(Comparator.naturalOrder()).orElse(Duration.ZERO));
+    }
+
+    private record Snapshot(Map<Long, Doctor> doctors, Map<Long, MedicalService> services,
+                            List<Doctor> activeDoctors, List<MedicalService> activeServices,
+                            Duration longestService) {
+    }
+}
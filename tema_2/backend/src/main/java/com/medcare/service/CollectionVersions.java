@@ -0,0 +1,60 @@
+package com.medcare.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// One version counter per collection, bumped after every committed write to it. Conditional GETs compare
+// the client's ETag with the current version before any query runs. The boot time is part of the tag
+// so a restart never reissues a tag from before it.
+@Component
+public class CollectionVersions {
+
+    public enum Kind {
+        APPOINTMENTS,
+        DOCTORS,
+        SERVICES,
+        USERS
+    }
+
+    private final long epoch = System.currentTimeMillis();
+    private final Map<Kind, AtomicLong> versions = new EnumMap<>(Kind.class);
+
+    public CollectionVersions() {
+        for (Kind kind : Kind.values()) {
+            versions.put(kind, new AtomicLong());
+        }
+    }
+
+    // Read the tag before loading the data: a write that commits in between then only costs one extra 200.
+    public String etag(Kind kind) {
+        return "\"" + tag(kind) + "\"";
+    }
+
+    // For responses that come in several encodings: each one needs its own tag, or a cache could answer
+    // a CBOR request with a 304 for the JSON body it holds
+    public String etag(Kind kind, String variant) {
+        return variant == null ? etag(kind) : "\"" + tag(kind) + "-" + variant + "\"";
+    }
+
+    private String tag(Kind kind) {
+        return kind.name().toLowerCase() + "-" + epoch + "-" + versions.get(kind).get();
+    }
+
+    public void changed(Kind kind) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.get(kind).incrementAndGet();
+                }
+            });
+        } else {
+            versions.get(kind).incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.medcare.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Histograms of how long pooled JDBC connections stay checked out: once per checkout and once per
+// HTTP request (the sum of every checkout made while serving it).
+@Component
+public class ConnectionHoldTimeTracker {
+
+    private static final long[] BUCKET_BOUNDS_MS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+
+    private final ThreadLocal<long[]> requestHold = new ThreadLocal<>();
+    private final Histogram perCheckout = new Histogram();
+    private final Histogram perRequest = new Histogram();
+
+    public void checkedIn(long heldNanos) {
+        perCheckout.record(heldNanos);
+        long[] current = requestHold.get();
+        if (current != null) {
+            current[0] += heldNanos;
+            current[1]++;
+        }
+    }
+
+    public void requestStarted() {
+        requestHold.set(new long[2]);
+    }
+
+    // Requests that never touched the database are counted separately rather than as zero-length holds.
+    public void requestFinished() {
+        long[] current = requestHold.get();
+        requestHold.remove();
+        if (current == null) {
+            return;
+        }
+        if (current[1] == 0) {
+            perRequest.skipped.increment();
+        } else {
+            perRequest.record(current[0]);
+        }
+    }
+
+    public Map<String, Object> metrics() {
+        return Map.of(
+            "perCheckout", perCheckout.snapshot(),
+            "perRequest", perRequest.snapshot()
+        );
+    }
+
+    private static final class Histogram {
+        private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MS.length + 1];
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalMicros = new LongAdder();
+        private final AtomicLong maxMicros = new AtomicLong();
+        private final LongAdder skipped = new LongAdder();
+
+        Histogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS_MS.length && micros > BUCKET_BOUNDS_MS[bucket] * 1000) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+            count.increment();
+            totalMicros.add(micros);
+            maxMicros.accumulateAndGet(micros, Math::max);
+        }
+
+        Map<String, Object> snapshot() {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+                counts.put("le" + BUCKET_BOUNDS_MS[i] + "ms", buckets[i].sum());
+            }
+            counts.put("inf", buckets[BUCKET_BOUNDS_MS.length].sum());
+            return Map.of(
+                "count", count.sum(),
+                "totalMicros", totalMicros.sum(),
+                "maxMicros", maxMicros.get(),
+                "withoutConnection", skipped.sum(),
+                "buckets", counts
+            );
+        }
+    }
+}
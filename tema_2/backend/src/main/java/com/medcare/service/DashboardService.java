@@ -0,0 +1,82 @@
+package com.medcare.service;
+
+import com.medcare.dto.AppointmentView;
+import com.medcare.dto.DashboardResponse;
+import com.medcare.model.Appointment;
+import com.medcare.repository.AppointmentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Everything the receptionist dashboard shows for one day, in one response. The day's appointments are the
+// only database read; the catalogs come from the in-process snapshot. The counts are derived from the same
+// rows, so they always agree with the list. Responses are reused for a short while as long as no collection
+// they read has changed.
+@Service
+public class DashboardService {
+
+    private static final int MAX_CACHED_DAYS = 64;
+
+    private final AppointmentRepository appointmentRepository;
+    private final CatalogCache catalogCache;
+    private final CollectionVersions collectionVersions;
+    private final StatusWriteBehindQueue statusWriteBehindQueue;
+    private final ConcurrentMap<LocalDate, CachedDashboard> cache = new ConcurrentHashMap<>();
+
+    @Value("${app.dashboard.cacheMs:5000}")
+    private long cacheMs;
+
+    public DashboardService(AppointmentRepository appointmentRepository, CatalogCache catalogCache,
+                            CollectionVersions collectionVersions, StatusWriteBehindQueue statusWriteBehindQueue) {
+        this.appointmentRepository = appointmentRepository;
+        this.catalogCache = catalogCache;
+        this.collectionVersions = collectionVersions;
+        this.statusWriteBehindQueue = statusWriteBehindQueue;
+    }
+
+    public DashboardResponse getDashboard(LocalDate date) {
+        LocalDate day = date != null ? date : LocalDate.now();
+        // Read before loading, like an ETag: a write that lands in between only shortens the cache life
+        String versions = collectionVersions.etag(CollectionVersions.Kind.APPOINTMENTS)
+                + collectionVersions.etag(CollectionVersions.Kind.DOCTORS)
+                + collectionVersions.etag(CollectionVersions.Kind.SERVICES);
+        CachedDashboard cached = cache.get(day);
+        if (cached != null && cached.versions().equals(versions) && cached.expiresAt() > System.currentTimeMillis()) {
+            return cached.response();
+        }
+
+        DashboardResponse response = load(day);
+        if (cache.size() >= MAX_CACHED_DAYS) {
+            cache.clear();
+        }
+        cache.put(day, new CachedDashboard(versions, System.currentTimeMillis() + cacheMs, response));
+        return response;
+    }
+
+    private DashboardResponse load(LocalDate day) {
+        List<AppointmentView> views = appointmentRepository.findViewsBetweenDates(day.atStartOfDay(), day.atTime(LocalTime.MAX));
+        Map<Appointment.AppointmentStatus, Long> byStatus = new EnumMap<>(Appointment.AppointmentStatus.class);
+        for (Appointment.AppointmentStatus status : Appointment.AppointmentStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        Map<Long, Long> byDoctor = new TreeMap<>();
+        for (AppointmentView view : views) {
+            statusWriteBehindQueue.pendingStatus(view.getId()).ifPresent(view::setStatus);
+            byStatus.merge(view.getStatus(), 1L, Long::sum);
+            byDoctor.merge(view.getDoctor().getId(), 1L, Long::sum);
+        }
+        return new DashboardResponse(day, List.copyOf(views), byStatus, byDoctor,
+                catalogCache.findActiveDoctors(), catalogCache.findActiveServices());
+    }
+
+    private record CachedDashboard(String versions, long expiresAt, DashboardResponse response) {
+    }
+}
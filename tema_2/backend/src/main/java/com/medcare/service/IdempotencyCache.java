@@ -0,0 +1,83 @@
+package com.medcare.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+// Remembers the result of a request per (user, Idempotency-Key) for a while, so a retried request gets
+// the first response back instead of being executed again. Duplicates that arrive while the first
+// request is still running wait for its result. Failed requests are forgotten, so they can be retried.
+@Component
+public class IdempotencyCache {
+
+    private final Map<Key, Entry> entries;
+    private final Duration ttl;
+
+    public IdempotencyCache(@Value("${app.idempotency.maxEntries:10000}") int maxEntries,
+                            @Value("${app.idempotency.ttlMinutes:60}") long ttlMinutes) {
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.entries = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Long userId, String idempotencyKey, Object request, Supplier<T> action) {
+        Key key = new Key(userId, idempotencyKey);
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        Entry entry;
+        Entry created = null;
+        synchronized (entries) {
+            entry = entries.get(key);
+            // Compared as a difference, since nanoTime values may wrap around
+            if (entry != null && entry.expiresAt() - System.nanoTime() < 0) {
+                entries.remove(key);
+                entry = null;
+            }
+            if (entry == null) {
+                created = new Entry(request, result, System.nanoTime() + ttl.toNanos());
+                entries.put(key, created);
+            }
+        }
+
+        if (entry != null) {
+            if (!Objects.equals(entry.request(), request)) {
+                throw new RuntimeException("Idempotency key was already used for a different request");
+            }
+            try {
+                return (T) entry.result().join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            T value = action.get();
+            result.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // Errors too, or duplicates would wait on the future forever
+            synchronized (entries) {
+                entries.remove(key, created);
+            }
+            result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private record Key(Long userId, String idempotencyKey) {
+    }
+
+    private record Entry(Object request, CompletableFuture<Object> result, long expiresAt) {
+    }
+}
@@ -0,0 +1,238 @@
+package com.medcare.service;
+
+import com.medcare.dto.AppointmentEvent;
+import com.medcare.dto.PatientMatch;
+import com.medcare.repository.AppointmentRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// Trigram inverted index over the distinct normalized patient names, built once at startup and extended
+// as appointments are committed. A search only walks the posting lists of the query's trigrams and ranks
+// names by trigram similarity (shared / union, as pg_trgm does); the database is never touched.
+@Component
+public class PatientNameIndex {
+
+    public static final int MAX_LIMIT = 50;
+    private static final double MIN_SIMILARITY = 0.3;
+    private static final int MAX_LATEST = 3;
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    // Weakest first: lower similarity, then the patient seen least recently
+    private static final Comparator<Candidate> CANDIDATE_ORDER = Comparator
+            .comparingDouble(Candidate::similarity)
+            .thenComparing(candidate -> candidate.patient().latestTime(), Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final AppointmentRepository appointmentRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Patient> patients = new ArrayList<>();
+    private final Map<String, Integer> patientIds = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    // Hit counters indexed by patient id, zeroed after every search and reused; there are only as many
+    // as searches ever ran at the same time
+    private final Queue<int[]> scratch = new ConcurrentLinkedQueue<>();
+
+    public PatientNameIndex(AppointmentRepository appointmentRepository) {
+        this.appointmentRepository = appointmentRepository;
+    }
+
+    @PostConstruct
+    public void load() {
+        List<Object[]> rows = appointmentRepository.findPatientEntries();
+        lock.writeLock().lock();
+        try {
+            for (Object[] row : rows) {
+                add((String) row[1], (Long) row[0], (LocalDateTime) row[2]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentEvent(AppointmentEvent event) {
+        if (!AppointmentEvent.CREATED.equals(event.getType()) || event.getPatientName() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            add(event.getPatientName(), event.getAppointmentId(), event.getAppointmentTime());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<PatientMatch> search(String query, int limit) {
+        long[] grams = trigrams(normalize(query == null ? "" : query));
+        if (grams.length == 0) {
+            return List.of();
+        }
+        int max = Math.min(Math.max(limit, 1), MAX_LIMIT);
+
+        int[] hits = scratch.poll();
+        lock.readLock().lock();
+        try {
+            if (hits == null || hits.length < patients.size()) {
+                hits = new int[patients.size() + patients.size() / 2];
+            }
+            Postings touched = new Postings();
+            for (long gram : grams) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    continue;
+                }
+                for (int i = 0; i < list.size; i++) {
+                    int id = list.ids[i];
+                    if (hits[id]++ == 0) {
+                        touched.add(id);
+                    }
+                }
+            }
+
+            // Keeps the best max candidates; the head is the weakest one, and once the queue is full
+            // anything scoring below it is skipped without allocating
+            PriorityQueue<Candidate> best = new PriorityQueue<>(max + 1, CANDIDATE_ORDER);
+            double floor = MIN_SIMILARITY;
+            for (int i = 0; i < touched.size; i++) {
+                int id = touched.ids[i];
+                int shared = hits[id];
+                hits[id] = 0;
+                Patient patient = patients.get(id);
+                double similarity = (double) shared / (grams.length + patient.trigramCount - shared);
+                if (similarity < floor) {
+                    continue;
+                }
+                best.offer(new Candidate(patient, similarity));
+                if (best.size() > max) {
+                    best.poll();
+                    floor = best.peek().similarity();
+                }
+            }
+
+            List<PatientMatch> matches = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                Candidate candidate = best.poll();
+                matches.add(candidate.patient().toMatch(candidate.similarity()));
+            }
+            Collections.reverse(matches);
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+            if (hits != null) {
+                scratch.offer(hits);
+            }
+        }
+    }
+
+    // Must hold the write lock
+    private void add(String name, Long appointmentId, LocalDateTime appointmentTime) {
+        String normalized = normalize(name);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        Integer id = patientIds.get(normalized);
+        if (id == null) {
+            id = patients.size();
+            long[] grams = trigrams(normalized);
+            patients.add(new Patient(name, grams.length));
+            patientIds.put(normalized, id);
+            for (long gram : grams) {
+                postings.computeIfAbsent(gram, g -> new Postings()).add(id);
+            }
+        }
+        patients.get(id).record(name, appointmentId, appointmentTime);
+    }
+
+    // Lower case, accents removed, every run of non letters and digits turned into one space
+    static String normalize(String name) {
+        String stripped = MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    // Distinct trigrams of every word padded as "  word ", packed three 16-bit chars to a long
+    static long[] trigrams(String normalized) {
+        if (normalized.isEmpty()) {
+            return new long[0];
+        }
+        List<Long> grams = new ArrayList<>();
+        for (String word : normalized.split(" ")) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+            }
+        }
+        return grams.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+    }
+
+    private record Candidate(Patient patient, double similarity) {
+    }
+
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+
+    private static final class Patient {
+        private final int trigramCount;
+        private String displayName;
+        private int appointmentCount;
+        // Most recent first, at most MAX_LATEST
+        private final List<PatientMatch.AppointmentRef> latest = new ArrayList<>(MAX_LATEST + 1);
+
+        Patient(String displayName, int trigramCount) {
+            this.displayName = displayName;
+            this.trigramCount = trigramCount;
+        }
+
+        LocalDateTime latestTime() {
+            return latest.isEmpty() ? null : latest.get(0).getAppointmentTime();
+        }
+
+        // The spelling used on the most recent appointment is the one shown
+        void record(String name, Long appointmentId, LocalDateTime appointmentTime) {
+            appointmentCount++;
+            int position = 0;
+            while (position < latest.size() && !latest.get(position).getAppointmentTime().isBefore(appointmentTime)) {
+                position++;
+            }
+            if (position == 0) {
+                displayName = name;
+            }
+            if (position < MAX_LATEST) {
+                latest.add(position, new PatientMatch.AppointmentRef(appointmentId, appointmentTime));
+                if (latest.size() > MAX_LATEST) {
+                    latest.remove(MAX_LATEST);
+                }
+            }
+        }
+
+        PatientMatch toMatch(double similarity) {
+            return new PatientMatch(displayName, similarity, appointmentCount, List.copyOf(latest));
+        }
+    }
+}
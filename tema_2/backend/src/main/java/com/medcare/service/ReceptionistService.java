@@ -1,92 +1,647 @@
 package com.medcare.service;
 
+import com.medcare.dto.AppointmentChanges;
+import com.medcare.dto.AppointmentEvent;
+import com.medcare.dto.AppointmentFilter;
+import com.medcare.dto.AppointmentLookup;
+import com.medcare.dto.AppointmentPage;
 import com.medcare.dto.AppointmentRequest;
+import com.medcare.dto.AppointmentSeriesRequest;
+import com.medcare.dto.AppointmentSeriesResponse;
+import com.medcare.dto.AppointmentView;
+import com.medcare.dto.BatchItemResult;
+import com.medcare.dto.BulkStatusRequest;
+import com.medcare.dto.CalendarDay;
+import com.medcare.dto.CalendarResponse;
+import com.medcare.dto.RecurrenceRule;
+import com.medcare.dto.SeriesOccurrence;
 import com.medcare.model.*;
 import com.medcare.repository.*;
+import com.medcare.security.UserPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 @Service
 public class ReceptionistService {
 
+    public static final int MAX_BATCH_SIZE = 1000;
+    public static final int MAX_SERIES_SIZE = 200;
+    public static final int MAX_BULK_IDS = 1000;
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_LOOKUP_IDS = 500;
+    public static final int DEFAULT_CALENDAR_ENTRIES = 3;
+    public static final int MAX_CALENDAR_ENTRIES = 10;
+    private static final Sort KEYSET_ORDER = Sort.by("appointmentTime", "id");
+
     private final AppointmentRepository appointmentRepository;
     private final DoctorRepository doctorRepository;
     private final MedicalServiceRepository medicalServiceRepository;
     private final UserRepository userRepository;
+    private final AppointmentLedger appointmentLedger;
+    private final CatalogCache catalogCache;
+    private final BookingCoordinator bookingCoordinator;
+    private final BookingGuard bookingGuard;
+    private final StatusWriteBehindQueue statusWriteBehindQueue;
+    private final CollectionVersions collectionVersions;
+    private final AppointmentChangeVersions changeVersions;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.booking.fastPath:true}")
+    private boolean fastPath;
 
     public ReceptionistService(AppointmentRepository appointmentRepository,
                              DoctorRepository doctorRepository,
                              MedicalServiceRepository medicalServiceRepository,
-                             UserRepository userRepository) {
+                             UserRepository userRepository,
+                             AppointmentLedger appointmentLedger,
+                             CatalogCache catalogCache,
+                             BookingCoordinator bookingCoordinator,
+                             BookingGuard bookingGuard,
+                             StatusWriteBehindQueue statusWriteBehindQueue,
+                             CollectionVersions collectionVersions,
+                             AppointmentChangeVersions changeVersions,
+                             ApplicationEventPublisher eventPublisher) {
         this.appointmentRepository = appointmentRepository;
         this.doctorRepository = doctorRepository;
         this.medicalServiceRepository = medicalServiceRepository;
         this.userRepository = userRepository;
+        this.appointmentLedger = appointmentLedger;
+        this.catalogCache = catalogCache;
+        this.bookingCoordinator = bookingCoordinator;
+        this.bookingGuard = bookingGuard;
+        this.statusWriteBehindQueue = statusWriteBehindQueue;
+        this.collectionVersions = collectionVersions;
+        this.changeVersions = changeVersions;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public Appointment createAppointment(AppointmentRequest request) {
+        collectionVersions.changed(CollectionVersions.Kind.APPOINTMENTS);
+        if (fastPath) {
+            return createAppointmentFastPath(request);
+        }
+
         Doctor doctor = doctorRepository.findById(request.getDoctorId())
                 .orElseThrow(() -> new RuntimeException("Doctor not found"));
         
         MedicalService service = medicalServiceRepository.findById(request.getServiceId())
                 .orElseThrow(() -> new RuntimeException("Service not found"));
 
-        // Check doctor availability
         LocalDateTime appointmentEnd = request.getAppointmentTime().plus(service.getDuration());
-        if (appointmentRepository.existsByDoctorAndAppointmentTimeBetween(
-                doctor, request.getAppointmentTime(), appointmentEnd)) {
+
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        User createdBy = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        Appointment appointment = new Appointment();
+        appointment.setPatientName(request.getPatientName());
+        appointment.setDoctor(doctor);
+        appointment.setService(service);
+        appointment.setAppointmentTime(request.getAppointmentTime());
+        appointment.setEndTime(appointmentEnd);
+        appointment.setStatus(Appointment.AppointmentStatus.NEW);
+        appointment.setCreatedBy(createdBy);
+        appointment.setChangeVersion(changeVersions.next());
+
+        return bookingCoordinator.withDoctorLock(doctor.getId(), () -> {
+            bookingGuard.lockDoctor(doctor.getId());
+            checkAvailability(doctor, request.getAppointmentTime(), appointmentEnd);
+            checkClusterAvailability(doctor, request.getAppointmentTime(), appointmentEnd);
+            Appointment saved = appointmentRepository.save(appointment);
+            appointmentLedger.record(saved);
+            eventPublisher.publishEvent(AppointmentEvent.of(AppointmentEvent.CREATED, saved));
+            return saved;
+        });
+    }
+
+    // Resolves doctor and service from the catalog cache, takes the creator from the authenticated
+    // principal and lets a single conditional INSERT both re-check availability and store the row.
+    private Appointment createAppointmentFastPath(AppointmentRequest request) {
+        Doctor doctor = catalogCache.findDoctor(request.getDoctorId())
+                .orElseThrow(() -> new RuntimeException("Doctor not found"));
+
+        MedicalService service = catalogCache.findService(request.getServiceId())
+                .orElseThrow(() -> new RuntimeException("Service not found"));
+
+        LocalDateTime appointmentEnd = request.getAppointmentTime().plus(service.getDuration());
+        Long createdById = currentUserId();
+        long changeVersion = changeVersions.next();
+
+        return bookingCoordinator.withDoctorLock(doctor.getId(), () -> {
+            bookingGuard.lockDoctor(doctor.getId());
+            checkAvailability(doctor, request.getAppointmentTime(), appointmentEnd);
+            Long id = appointmentRepository.insertIfDoctorAvailable(
+                    request.getPatientName(), doctor.getId(), service.getId(),
+                    request.getAppointmentTime(), appointmentEnd,
+                    Appointment.AppointmentStatus.NEW.name(), createdById, changeVersion,
+                    earliestOverlappingStart(doctor.getId(), request.getAppointmentTime()));
+            if (id == null) {
+                throw new RuntimeException("Doctor is not available at the requested time");
+            }
+
+            Appointment appointment = new Appointment(id, request.getPatientName(), doctor, service,
+                    request.getAppointmentTime(), appointmentEnd, Appointment.AppointmentStatus.NEW,
+                    userRepository.getReferenceById(createdById), changeVersion);
+            appointmentLedger.record(appointment);
+            eventPublisher.publishEvent(AppointmentEvent.of(AppointmentEvent.CREATED, appointment));
+            return appointment;
+        });
+    }
+
+    // Must run under the doctor's booking lock: the ledger entry recorded by the caller is what makes
+    // a concurrent booking for the same doctor see this one before the transaction commits.
+    private void checkAvailability(Doctor doctor, LocalDateTime start, LocalDateTime end) {
+        // Check doctor availability
+        if (appointmentLedger.overlaps(doctor.getId(), start, end)) {
             throw new RuntimeException("Doctor is not available at the requested time");
         }
 
         // Check if appointment is within doctor's working hours
-        if (request.getAppointmentTime().toLocalTime().isBefore(doctor.getStartTime()) ||
-            appointmentEnd.toLocalTime().isAfter(doctor.getEndTime())) {
+        if (start.toLocalTime().isBefore(doctor.getStartTime()) ||
+            end.toLocalTime().isAfter(doctor.getEndTime())) {
             throw new RuntimeException("Appointment time is outside doctor's working hours");
         }
+    }
 
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User createdBy = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    // Validates every item against the ledger, working hours and the items accepted before it, then
+    // writes the accepted ones through batched inserts. Rejected items do not fail the batch.
+    @Transactional
+    public List<BatchItemResult> createAppointments(List<AppointmentRequest> requests) {
+        collectionVersions.changed(CollectionVersions.Kind.APPOINTMENTS);
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new RuntimeException("A batch can contain at most " + MAX_BATCH_SIZE + " appointments");
+        }
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<Appointment> candidates = new ArrayList<>();
+        List<Integer> candidateIndexes = new ArrayList<>();
+        User createdBy = userRepository.getReferenceById(currentUserId());
+
+        for (int i = 0; i < requests.size(); i++) {
+            AppointmentRequest request = requests.get(i);
+            try {
+                candidates.add(newAppointment(request, createdBy));
+                candidateIndexes.add(i);
+            } catch (RuntimeException e) {
+                results[i] = BatchItemResult.rejected(i, e.getMessage());
+            }
+        }
+
+        Set<Long> doctorIds = new TreeSet<>();
+        candidates.forEach(appointment -> doctorIds.add(appointment.getDoctor().getId()));
+        long changeVersion = changeVersions.next();
+
+        return bookingCoordinator.withDoctorLocks(doctorIds, () -> {
+            doctorIds.forEach(bookingGuard::lockDoctor);
+            for (int i = 0; i < candidates.size(); i++) {
+                Appointment appointment = candidates.get(i);
+                int index = candidateIndexes.get(i);
+                try {
+                    checkAvailability(appointment.getDoctor(), appointment.getAppointmentTime(), appointment.getEndTime());
+                    checkClusterAvailability(appointment.getDoctor(), appointment.getAppointmentTime(), appointment.getEndTime());
+                } catch (RuntimeException e) {
+                    results[index] = BatchItemResult.rejected(index, e.getMessage());
+                    continue;
+                }
+                // The insert itself is deferred to the flush below; recording now lets later items see this one.
+                appointment.setChangeVersion(changeVersion);
+                appointmentRepository.save(appointment);
+                appointmentLedger.record(appointment);
+                eventPublisher.publishEvent(AppointmentEvent.of(AppointmentEvent.CREATED, appointment));
+                results[index] = BatchItemResult.created(index, appointment.getId());
+            }
+            appointmentRepository.flush();
+            return Arrays.asList(results);
+        });
+    }
+
+    // Expands the recurrence and checks every occurrence against the doctor's bookings in the series'
+    // time range with a single sweep. The series is stored only if no occurrence conflicts.
+    @Transactional
+    public AppointmentSeriesResponse createAppointmentSeries(AppointmentSeriesRequest request) {
+        collectionVersions.changed(CollectionVersions.Kind.APPOINTMENTS);
+        Doctor doctor = catalogCache.findDoctor(request.getDoctorId())
+                .orElseThrow(() -> new RuntimeException("Doctor not found"));
+        MedicalService service = catalogCache.findService(request.getServiceId())
+                .orElseThrow(() -> new RuntimeException("Service not found"));
+        List<LocalDateTime> starts = expand(request.getRecurrence(), request.getFirstAppointmentTime());
+        if (starts.isEmpty()) {
+            throw new RuntimeException("The recurrence does not produce any appointment");
+        }
+        User createdBy = userRepository.getReferenceById(currentUserId());
+
+        return bookingCoordinator.withDoctorLock(doctor.getId(), () -> {
+            bookingGuard.lockDoctor(doctor.getId());
+            LocalDateTime from = starts.get(0);
+            LocalDateTime to = starts.get(starts.size() - 1).plus(service.getDuration());
+            List<AppointmentLedger.Booking> booked = bookedIntervals(doctor.getId(), from, to);
+
+            // Occurrences ascend, so a booking that ended before one occurrence cannot touch the next.
+            PriorityQueue<AppointmentLedger.Booking> active =
+                    new PriorityQueue<>(Comparator.comparing(AppointmentLedger.Booking::end));
+            List<SeriesOccurrence> occurrences = new ArrayList<>();
+            boolean conflicts = false;
+            int next = 0;
+            for (LocalDateTime start : starts) {
+                LocalDateTime end = start.plus(service.getDuration());
+                while (next < booked.size() && booked.get(next).start().isBefore(end)) {
+                    active.add(booked.get(next++));
+                }
+                while (!active.isEmpty() && !active.peek().end().isAfter(start)) {
+                    active.poll();
+                }
+
+                String conflict = null;
+                if (!active.isEmpty()) {
+                    conflict = "Doctor is not available at the requested time";
+                } else if (start.toLocalTime().isBefore(doctor.getStartTime())
+                        || end.toLocalTime().isAfter(doctor.getEndTime())) {
+                    conflict = "Appointment time is outside doctor's working hours";
+                }
+                conflicts |= conflict != null;
+                occurrences.add(new SeriesOccurrence(start, end, null, conflict));
+            }
+            if (conflicts) {
+                return new AppointmentSeriesResponse(false, occurrences);
+            }
+
+            long changeVersion = changeVersions.next();
+            for (SeriesOccurrence occurrence : occurrences) {
+                Appointment appointment = new Appointment();
+                appointment.setPatientName(request.getPatientName());
+                appointment.setDoctor(doctor);
+                appointment.setService(service);
+                appointment.setAppointmentTime(occurrence.getStart());
+                appointment.setEndTime(occurrence.getEnd());
+                appointment.setStatus(Appointment.AppointmentStatus.NEW);
+                appointment.setCreatedBy(createdBy);
+                appointment.setChangeVersion(changeVersion);
+                appointmentRepository.save(appointment);
+                appointmentLedger.record(appointment);
+                eventPublisher.publishEvent(AppointmentEvent.of(AppointmentEvent.CREATED, appointment));
+                occurrence.setAppointmentId(appointment.getId());
+            }
+            appointmentRepository.flush();
+            return new AppointmentSeriesResponse(true, occurrences);
+        });
+    }
+
+    private List<LocalDateTime> expand(RecurrenceRule rule, LocalDateTime first) {
+        if (rule.getCount() == null && rule.getUntil() == null) {
+            throw new RuntimeException("A recurrence needs a count or an end date");
+        }
+        // Without a count, expand one past the maximum so an end date that is too far away is rejected
+        // instead of silently cutting the series short
+        int limit = rule.getCount() == null ? MAX_SERIES_SIZE + 1 : rule.getCount();
+        if (rule.getCount() != null && limit > MAX_SERIES_SIZE) {
+            throw new RuntimeException("A series can contain at most " + MAX_SERIES_SIZE + " appointments");
+        }
+
+        List<LocalDateTime> starts = new ArrayList<>();
+        for (int i = 0; i < limit; i++) {
+            long step = (long) i * rule.getInterval();
+            LocalDateTime start = switch (rule.getFrequency()) {
+                case DAILY -> first.plusDays(step);
+                case WEEKLY -> first.plusWeeks(step);
+                case MONTHLY -> first.plusMonths(step);
+            };
+            if (rule.getUntil() != null && start.toLocalDate().isAfter(rule.getUntil())) {
+                break;
+            }
+            starts.add(start);
+        }
+        if (starts.size() > MAX_SERIES_SIZE) {
+            throw new RuntimeException("A series can contain at most " + MAX_SERIES_SIZE + " appointments");
+        }
+        return starts;
+    }
+
+    // Sorted by start. In cluster mode the database range is merged in, since other instances'
+    // bookings are not in this node's ledger.
+    private List<AppointmentLedger.Booking> bookedIntervals(Long doctorId, LocalDateTime from, LocalDateTime to) {
+        List<AppointmentLedger.Booking> booked = new ArrayList<>(appointmentLedger.bookings(doctorId, from, to));
+        if (bookingGuard.isEnabled()) {
+            for (Object[] row : appointmentRepository.findBookedIntervals(doctorId, from, to,
+                    earliestOverlappingStart(doctorId, from))) {
+                booked.add(new AppointmentLedger.Booking((Long) row[0], (LocalDateTime) row[1], (LocalDateTime) row[2]));
+            }
+            booked.sort(Comparator.comparing(AppointmentLedger.Booking::start));
+        }
+        return booked;
+    }
+
+    private Appointment newAppointment(AppointmentRequest request, User createdBy) {
+        if (request.getPatientName() == null || request.getPatientName().isBlank()
+                || request.getDoctorId() == null || request.getServiceId() == null
+                || request.getAppointmentTime() == null) {
+            throw new RuntimeException("Patient name, doctor, service and appointment time are required");
+        }
+        Doctor doctor = catalogCache.findDoctor(request.getDoctorId())
+                .orElseThrow(() -> new RuntimeException("Doctor not found"));
+        MedicalService service = catalogCache.findService(request.getServiceId())
+                .orElseThrow(() -> new RuntimeException("Service not found"));
 
         Appointment appointment = new Appointment();
         appointment.setPatientName(request.getPatientName());
         appointment.setDoctor(doctor);
         appointment.setService(service);
         appointment.setAppointmentTime(request.getAppointmentTime());
+        appointment.setEndTime(request.getAppointmentTime().plus(service.getDuration()));
         appointment.setStatus(Appointment.AppointmentStatus.NEW);
         appointment.setCreatedBy(createdBy);
+        return appointment;
+    }
 
-        return appointmentRepository.save(appointment);
+    // Other instances' bookings are not in this node's ledger
+    private void checkClusterAvailability(Doctor doctor, LocalDateTime start, LocalDateTime end) {
+        if (bookingGuard.isEnabled() && appointmentRepository.existsOverlapping(doctor.getId(), start, end,
+                earliestOverlappingStart(doctor.getId(), start))) {
+            throw new RuntimeException("Doctor is not available at the requested time");
+        }
+    }
+
+    // Lower bound on the start of any booking still running at start: the longest booking the ledger has
+    // seen for the doctor, or the longest service for bookings made on other instances
+    private LocalDateTime earliestOverlappingStart(Long doctorId, LocalDateTime start) {
+        Duration ledgerLongest = appointmentLedger.longest(doctorId);
+        Duration serviceLongest = catalogCache.longestServiceDuration();
+        return start.minus(ledgerLongest.compareTo(serviceLongest) > 0 ? ledgerLongest : serviceLongest);
+    }
+
+    private Long currentUserId() {
+        return ((UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getId();
     }
 
     @Transactional
     public Appointment updateAppointmentStatus(Long id, Appointment.AppointmentStatus status) {
-        Appointment appointment = appointmentRepository.findById(id)
+        collectionVersions.changed(CollectionVersions.Kind.APPOINTMENTS);
+        Appointment appointment = appointmentRepository.findWithAssociationsById(id)
                 .orElseThrow(() -> new RuntimeException("Appointment not found"));
         
         appointment.setStatus(status);
-        return appointmentRepository.save(appointment);
+        appointment.setChangeVersion(changeVersions.next());
+        Appointment saved = appointmentRepository.save(appointment);
+        appointmentLedger.record(saved);
+        eventPublisher.publishEvent(AppointmentEvent.of(AppointmentEvent.STATUS, saved));
+        return saved;
+    }
+
+    public boolean isStatusWriteBehind() {
+        return statusWriteBehindQueue.isEnabled();
+    }
+
+    // Write-behind variant: the change is acknowledged once queued and reaches the database with the
+    // next flush. Existence is checked against the ledger, falling back to the database for
+    // appointments booked on other instances.
+    public Map<String, Object> queueAppointmentStatus(Long id, Appointment.AppointmentStatus status) {
+        if (!appointmentLedger.contains(id) && !appointmentRepository.existsById(id)) {
+            throw new RuntimeException("Appointment not found");
+        }
+        statusWriteBehindQueue.submit(id, status);
+        AppointmentLedger.Booking booking = appointmentLedger.find(id).orElse(null);
+        eventPublisher.publishEvent(new AppointmentEvent(AppointmentEvent.STATUS, id, null,
+                appointmentLedger.doctorOf(id).orElse(null), booking == null ? null : booking.start(),
+                booking == null ? null : booking.end(), null, null, status, null));
+        collectionVersions.changed(CollectionVersions.Kind.APPOINTMENTS);
+        return Map.of("id", id, "status", status);
+    }
+
+    // One set-based UPDATE; appointments whose current status does not allow the transition are skipped.
+    @Transactional
+    public Map<String, Object> updateAppointmentStatuses(BulkStatusRequest request) {
+        collectionVersions.changed(CollectionVersions.Kind.APPOINTMENTS);
+        List<Appointment.AppointmentStatus> allowed = request.getStatus().allowedPredecessors();
+        if (allowed.isEmpty()) {
+            throw new RuntimeException("Appointments cannot be moved back to " + request.getStatus());
+        }
+
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (byIds && request.getIds().size() > MAX_BULK_IDS) {
+            throw new RuntimeException("At most " + MAX_BULK_IDS + " appointments can be updated at once");
+        }
+        if (!byIds && request.getDay() == null) {
+            throw new RuntimeException("Either appointment ids or a day is required");
+        }
+
+        // Commits on its own, so the queued changes it writes survive a rollback of this update
+        statusWriteBehindQueue.flush();
+        int updated;
+        long changeVersion = changeVersions.next();
+        if (byIds) {
+            updated = appointmentRepository.updateStatusByIds(request.getIds(), request.getStatus(), allowed,
+                    changeVersion);
+        } else {
+            updated = appointmentRepository.updateStatusByFilter(request.getDoctorId(),
+                    request.getDay().atStartOfDay(), request.getDay().plusDays(1).atStartOfDay(),
+                    request.getCurrentStatus(), request.getStatus(), allowed, changeVersion);
+        }
+
+        if (updated > 0) {
+            eventPublisher.publishEvent(new AppointmentEvent(AppointmentEvent.BULK_STATUS, null, null,
+                    byIds ? null : request.getDoctorId(), null, null, byIds ? null : request.getDay(),
+                    byIds ? request.getIds() : null, request.getStatus(), changeVersion));
+        }
+        return Map.of("updated", updated);
+    }
+
+    // Keyset pagination on (appointmentTime, id): each page is an index range scan that starts after the
+    // last row of the previous page, so cost does not grow with how far the client has paged.
+    @Transactional(readOnly = true)
+    public AppointmentPage<AppointmentView> findAppointments(AppointmentFilter filter) {
+        int size = Math.min(filter.getSize() == null ? DEFAULT_PAGE_SIZE : Math.max(filter.getSize(), 1), MAX_PAGE_SIZE);
+        // One snapshot of the queued statuses for both the filter and the overlay
+        Map<Long, Appointment.AppointmentStatus> pending = statusWriteBehindQueue.pendingStatuses();
+        Specification<Appointment> specification = AppointmentSpecifications.matching(filter, pending);
+        if (filter.getCursor() != null && !filter.getCursor().isBlank()) {
+            Object[] position = decodeCursor(filter.getCursor());
+            specification = specification.and(
+                    AppointmentSpecifications.after((LocalDateTime) position[0], (Long) position[1]));
+        }
+
+        List<AppointmentView> rows = appointmentRepository.findViews(specification, KEYSET_ORDER, size + 1);
+        List<AppointmentView> items = rows.size() > size ? rows.subList(0, size) : rows;
+        for (AppointmentView item : items) {
+            Appointment.AppointmentStatus queued = pending.get(item.getId());
+            if (queued != null) {
+                item.setStatus(queued);
+            }
+        }
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            AppointmentView last = items.get(items.size() - 1);
+            nextCursor = encodeCursor(last.getAppointmentTime(), last.getId());
+        }
+        return new AppointmentPage<>(items, nextCursor);
     }
 
-    public List<Appointment> getAllAppointments() {
-        return appointmentRepository.findAll();
+    static String encodeCursor(LocalDateTime time, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((time + "|" + id).getBytes(StandardCharsets.UTF_8));
     }
 
-    public Appointment getAppointment(Long id) {
-        return appointmentRepository.findById(id)
+    static Object[] decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            return new Object[] { LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]) };
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public AppointmentView getAppointment(Long id) {
+        AppointmentView appointment = appointmentRepository.findViewById(id)
                 .orElseThrow(() -> new RuntimeException("Appointment not found"));
+        applyPendingStatus(appointment);
+        return appointment;
+    }
+
+    // One IN query for the whole list; ids without an appointment are reported instead of failing the call
+    @Transactional(readOnly = true)
+    public AppointmentLookup getAppointments(List<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        if (requested.size() > MAX_LOOKUP_IDS) {
+            throw new RuntimeException("At most " + MAX_LOOKUP_IDS + " appointments can be fetched at once");
+        }
+        requested.remove(null);
+        if (requested.isEmpty()) {
+            return new AppointmentLookup(List.of(), List.of());
+        }
+
+        Map<Long, AppointmentView> found = new HashMap<>();
+        for (AppointmentView view : appointmentRepository.findViewsByIds(requested)) {
+            applyPendingStatus(view);
+            found.put(view.getId(), view);
+        }
+        List<AppointmentView> items = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requested) {
+            AppointmentView view = found.get(id);
+            if (view != null) {
+                items.add(view);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new AppointmentLookup(items, missing);
+    }
+
+    // Changes after the since token, capped at the change watermark. The returned token is the watermark
+    // when the client has caught up, or "version:id" of the last row when more changes are waiting.
+    @Transactional(readOnly = true)
+    public AppointmentChanges findChanges(String since, Integer size) {
+        int limit = Math.min(size == null ? DEFAULT_PAGE_SIZE : Math.max(size, 1), MAX_PAGE_SIZE);
+        long sinceVersion;
+        long afterId = Long.MAX_VALUE;
+        try {
+            String[] parts = (since == null || since.isBlank() ? "0" : since).split(":");
+            sinceVersion = Long.parseLong(parts[0]);
+            if (parts.length > 1) {
+                afterId = Long.parseLong(parts[1]);
+            }
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid since token");
+        }
+
+        long watermark = changeVersions.watermark();
+        List<AppointmentView> rows = appointmentRepository.findViewChanges(sinceVersion, afterId, watermark,
+                PageRequest.of(0, limit + 1));
+        boolean hasMore = rows.size() > limit;
+        List<AppointmentView> items = hasMore ? rows.subList(0, limit) : rows;
+        items.forEach(this::applyPendingStatus);
+
+        String next;
+        if (hasMore) {
+            AppointmentView last = items.get(items.size() - 1);
+            next = last.getChangeVersion() + ":" + last.getId();
+        } else {
+            next = String.valueOf(Math.max(watermark, sinceVersion));
+        }
+        return new AppointmentChanges(items, next, hasMore);
+    }
+
+    // Month view: one GROUP BY for the per-day status counts and one window query for each day's first
+    // entries, so the work and the payload scale with the days in the month, not the appointments.
+    // Statuses still queued for write-behind are applied to counts and entries alike, from one snapshot
+    // of the queue; repeatable read keeps every query on the same database snapshot, so a flush landing
+    // between them cannot make a change count twice or not at all.
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public CalendarResponse getCalendar(YearMonth month, Long doctorId, Integer perDay) {
+        int entries = Math.min(perDay == null ? DEFAULT_CALENDAR_ENTRIES : Math.max(perDay, 0), MAX_CALENDAR_ENTRIES);
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        Map<Long, Appointment.AppointmentStatus> pending = statusWriteBehindQueue.pendingStatuses();
+
+        Map<LocalDate, CalendarDay> days = new TreeMap<>();
+        for (Object[] row : appointmentRepository.countByDayAndStatus(from, to, doctorId)) {
+            CalendarDay day = days.computeIfAbsent((LocalDate) row[0], CalendarDay::new);
+            long count = (Long) row[2];
+            day.getCounts().put((Appointment.AppointmentStatus) row[1], count);
+            day.setTotal(day.getTotal() + count);
+        }
+        if (!pending.isEmpty()) {
+            for (Object[] row : appointmentRepository.findStatusesByIds(pending.keySet(), from, to, doctorId)) {
+                Appointment.AppointmentStatus stored = (Appointment.AppointmentStatus) row[2];
+                Appointment.AppointmentStatus queued = pending.get((Long) row[0]);
+                CalendarDay day = days.get(((LocalDateTime) row[1]).toLocalDate());
+                if (day != null && queued != stored) {
+                    day.getCounts().computeIfPresent(stored, (status, count) -> count > 1 ? count - 1 : null);
+                    day.getCounts().merge(queued, 1L, Long::sum);
+                }
+            }
+        }
+        if (entries > 0) {
+            for (Object[] row : appointmentRepository.findFirstPerDay(from, to, doctorId, entries)) {
+                Long id = ((Number) row[0]).longValue();
+                LocalDateTime time = row[1] instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) row[1];
+                Appointment.AppointmentStatus status = pending.getOrDefault(id,
+                        Appointment.AppointmentStatus.valueOf((String) row[3]));
+                days.computeIfAbsent(time.toLocalDate(), CalendarDay::new).getFirst()
+                        .add(new CalendarDay.Entry(id, time, (String) row[2], status, (String) row[4], (String) row[5]));
+            }
+        }
+        return new CalendarResponse(month, doctorId, List.copyOf(days.values()));
+    }
+
+    // Shows a status acknowledged by the write-behind queue before it reaches the database
+    private void applyPendingStatus(AppointmentView appointment) {
+        statusWriteBehindQueue.pendingStatus(appointment.getId()).ifPresent(appointment::setStatus);
     }
 
     public List<Doctor> getAllDoctors() {
-        return doctorRepository.findByActiveTrue();
+        return catalogCache.findActiveDoctors();
     }
 
     public List<MedicalService> getAllServices() {
-        return medicalServiceRepository.findByActiveTrue();
+        return catalogCache.findActiveServices();
     }
 } 
\ No newline at end of file
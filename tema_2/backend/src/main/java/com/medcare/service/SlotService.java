@@ -0,0 +1,172 @@
+package com.medcare.service;
+
+import com.medcare.dto.AvailabilityResponse;
+import com.medcare.dto.DoctorSlot;
+import com.medcare.dto.TimeSlot;
+import com.medcare.model.Doctor;
+import com.medcare.model.MedicalService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+public class SlotService {
+
+    public static final int MAX_LIMIT = 100;
+    private static final int MAX_DAYS = 92;
+    private static final int MAX_CACHED_DAYS = 10_000;
+
+    private final AppointmentLedger appointmentLedger;
+    private final CatalogCache catalogCache;
+    private final ThreadPoolTaskExecutor slotSearchExecutor;
+    private final ConcurrentMap<DayKey, FreeDay> freeDays = new ConcurrentHashMap<>();
+
+    @Value("${app.slots.searchBudgetMs:500}")
+    private long searchBudgetMs;
+
+    public SlotService(AppointmentLedger appointmentLedger, CatalogCache catalogCache,
+                       @Qualifier("slotSearchExecutor") ThreadPoolTaskExecutor slotSearchExecutor) {
+        this.appointmentLedger = appointmentLedger;
+        this.catalogCache = catalogCache;
+        this.slotSearchExecutor = slotSearchExecutor;
+    }
+
+    public List<TimeSlot> findFreeSlots(Long doctorId, Long serviceId,
+                                        LocalDateTime from, LocalDateTime to, int limit) {
+        Doctor doctor = catalogCache.findDoctor(doctorId)
+                .orElseThrow(() -> new RuntimeException("Doctor not found"));
+        MedicalService service = catalogCache.findService(serviceId)
+                .orElseThrow(() -> new RuntimeException("Service not found"));
+        return findFreeSlots(doctor, service, from, to, limit);
+    }
+
+    // Candidate starts are laid out back to back from the beginning of every free interval.
+    public List<TimeSlot> findFreeSlots(Doctor doctor, MedicalService service,
+                                        LocalDateTime from, LocalDateTime to, int limit) {
+        if (!to.isAfter(from)) {
+            throw new RuntimeException("The search window must end after it starts");
+        }
+        int max = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        Duration duration = service.getDuration();
+        LocalDate lastDay = to.toLocalDate();
+        if (lastDay.isAfter(from.toLocalDate().plusDays(MAX_DAYS))) {
+            lastDay = from.toLocalDate().plusDays(MAX_DAYS);
+        }
+
+        List<TimeSlot> slots = new ArrayList<>(max);
+        for (LocalDate day = from.toLocalDate(); !day.isAfter(lastDay); day = day.plusDays(1)) {
+            for (TimeSlot free : freeIntervals(doctor, day)) {
+                LocalDateTime start = free.getStart().isBefore(from) ? from : free.getStart();
+                for (LocalDateTime end = start.plus(duration);
+                     !end.isAfter(free.getEnd()) && !end.isAfter(to);
+                     start = end, end = end.plus(duration)) {
+                    slots.add(new TimeSlot(start, end));
+                    if (slots.size() == max) {
+                        return slots;
+                    }
+                }
+            }
+        }
+        return slots;
+    }
+
+    // Searches every active doctor of the specialization in parallel and merges the earliest slots.
+    // Doctors whose search has not finished when the latency budget runs out are left out.
+    public AvailabilityResponse findEarliestBySpecialization(String specialization, Long serviceId,
+                                                             LocalDateTime from, LocalDateTime to, int limit) {
+        MedicalService service = catalogCache.findService(serviceId)
+                .orElseThrow(() -> new RuntimeException("Service not found"));
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(searchBudgetMs);
+
+        List<CompletableFuture<List<DoctorSlot>>> searches = new ArrayList<>();
+        boolean complete = true;
+        for (Doctor doctor : catalogCache.findActiveDoctorsBySpecialization(specialization)) {
+            try {
+                searches.add(CompletableFuture.supplyAsync(() -> findFreeSlots(doctor, service, from, to, limit).stream()
+                        .map(slot -> new DoctorSlot(doctor.getId(), doctor.getName(), slot.getStart(), slot.getEnd()))
+                        .toList(), slotSearchExecutor));
+            } catch (TaskRejectedException e) {
+                complete = false;
+            }
+        }
+
+        List<DoctorSlot> merged = new ArrayList<>();
+        for (CompletableFuture<List<DoctorSlot>> search : searches) {
+            try {
+                merged.addAll(search.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                search.cancel(false);
+                complete = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Availability search interrupted");
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Availability search failed", e.getCause());
+            }
+        }
+
+        List<DoctorSlot> earliest = merged.stream()
+                .sorted(Comparator.comparing(DoctorSlot::getStart).thenComparing(DoctorSlot::getDoctorId))
+                .limit(Math.min(Math.max(limit, 1), MAX_LIMIT))
+                .toList();
+        return new AvailabilityResponse(earliest, complete);
+    }
+
+    // Gaps between the doctor's bookings inside working hours on one day, reused until the
+    // doctor's ledger stamp or working hours change.
+    List<TimeSlot> freeIntervals(Doctor doctor, LocalDate day) {
+        DayKey key = new DayKey(doctor.getId(), day);
+        long stamp = appointmentLedger.stamp(doctor.getId());
+        FreeDay cached = freeDays.get(key);
+        if (cached != null && cached.stamp() == stamp
+                && cached.startTime().equals(doctor.getStartTime())
+                && cached.endTime().equals(doctor.getEndTime())) {
+            return cached.intervals();
+        }
+
+        LocalDateTime dayStart = day.atTime(doctor.getStartTime());
+        LocalDateTime dayEnd = day.atTime(doctor.getEndTime());
+        List<TimeSlot> intervals = new ArrayList<>();
+        LocalDateTime cursor = dayStart;
+        for (AppointmentLedger.Booking booking : appointmentLedger.bookings(doctor.getId(), dayStart, dayEnd)) {
+            if (booking.start().isAfter(cursor)) {
+                intervals.add(new TimeSlot(cursor, booking.start().isBefore(dayEnd) ? booking.start() : dayEnd));
+            }
+            if (booking.end().isAfter(cursor)) {
+                cursor = booking.end();
+            }
+        }
+        if (cursor.isBefore(dayEnd)) {
+            intervals.add(new TimeSlot(cursor, dayEnd));
+        }
+
+        if (freeDays.size() >= MAX_CACHED_DAYS) {
+            freeDays.clear();
+        }
+        List<TimeSlot> result = List.copyOf(intervals);
+        freeDays.put(key, new FreeDay(stamp, doctor.getStartTime(), doctor.getEndTime(), result));
+        return result;
+    }
+
+    private record DayKey(Long doctorId, LocalDate day) {
+    }
+
+    private record FreeDay(long stamp, LocalTime startTime, LocalTime endTime, List<TimeSlot> intervals) {
+    }
+}
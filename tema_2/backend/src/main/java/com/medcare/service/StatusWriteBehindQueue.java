@@ -0,0 +1,165 @@
+package com.medcare.service;
+
+import com.medcare.model.Appointment;
+import com.medcare.repository.AppointmentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Opt-in write-behind for status changes. A change is acknowledged as soon as it is in the pending map;
+// repeated changes of one appointment coalesce to the latest status, and the map is written out with
+// one UPDATE per target status at most maxDelayMs later, or earlier once maxPending changes wait.
+@Component
+public class StatusWriteBehindQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(StatusWriteBehindQueue.class);
+    private static final int FLUSH_CHUNK = 1000;
+    private static final List<Appointment.AppointmentStatus> ANY_STATUS = List.of(Appointment.AppointmentStatus.values());
+
+    private final AppointmentRepository appointmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AppointmentChangeVersions changeVersions;
+    private final ConcurrentMap<Long, Appointment.AppointmentStatus> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private final AtomicLong flushedRows = new AtomicLong();
+    private final AtomicLong lastFlushMicros = new AtomicLong();
+    private final AtomicLong maxFlushMicros = new AtomicLong();
+
+    @Value("${app.statusWriteBehind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.statusWriteBehind.maxDelayMs:1000}")
+    private long maxDelayMs;
+
+    @Value("${app.statusWriteBehind.maxPending:500}")
+    private int maxPending;
+
+    private ScheduledExecutorService scheduler;
+
+    public StatusWriteBehindQueue(AppointmentRepository appointmentRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  AppointmentChangeVersions changeVersions) {
+        this.appointmentRepository = appointmentRepository;
+        // Always its own transaction: entries leave the pending map once it returns, so the flush must
+        // already be committed rather than joined to a caller's transaction that may still roll back
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.changeVersions = changeVersions;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "status-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flush, maxDelayMs, maxDelayMs, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void submit(Long appointmentId, Appointment.AppointmentStatus status) {
+        pending.put(appointmentId, status);
+        if (pending.size() >= maxPending && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flush);
+        }
+    }
+
+    // Reads go through here so callers see the acknowledged status before it reaches the database.
+    public Optional<Appointment.AppointmentStatus> pendingStatus(Long appointmentId) {
+        return Optional.ofNullable(pending.get(appointmentId));
+    }
+
+    // Point-in-time copy, for reads that overlay several rows and must use one consistent view
+    public Map<Long, Appointment.AppointmentStatus> pendingStatuses() {
+        return Map.copyOf(pending);
+    }
+
+    // Also called before bulk updates, so a queued change cannot overwrite a later set-based one.
+    public synchronized void flush() {
+        flushRequested.set(false);
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<Appointment.AppointmentStatus, List<Long>> byStatus = new EnumMap<>(Appointment.AppointmentStatus.class);
+        Map<Long, Appointment.AppointmentStatus> batch = Map.copyOf(pending);
+        batch.forEach((id, status) -> byStatus.computeIfAbsent(status, s -> new ArrayList<>()).add(id));
+
+        long started = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                long version = changeVersions.next();
+                byStatus.forEach((status, ids) -> {
+                    for (int from = 0; from < ids.size(); from += FLUSH_CHUNK) {
+                        appointmentRepository.updateStatusByIds(ids.subList(from, Math.min(from + FLUSH_CHUNK, ids.size())),
+                                status, ANY_STATUS, version);
+                    }
+                });
+            });
+        } catch (RuntimeException e) {
+            // Entries stay pending and are retried on the next tick
+            failedFlushes.incrementAndGet();
+            log.error("Could not flush {} pending appointment status changes", batch.size(), e);
+            return;
+        }
+
+        // A newer status submitted during the flush stays queued for the next one
+        batch.forEach(pending::remove);
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started);
+        flushes.incrementAndGet();
+        flushedRows.addAndGet(batch.size());
+        lastFlushMicros.set(micros);
+        maxFlushMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    @PreDestroy
+    public void drain() throws InterruptedException {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        scheduler.awaitTermination(30, TimeUnit.SECONDS);
+        flush();
+    }
+
+    public Map<String, Object> metrics() {
+        return Map.of(
+            "enabled", enabled,
+            "queueDepth", pending.size(),
+            "flushes", flushes.get(),
+            "failedFlushes", failedFlushes.get(),
+            "flushedRows", flushedRows.get(),
+            "lastFlushMicros", lastFlushMicros.get(),
+            "maxFlushMicros", maxFlushMicros.get()
+        );
+    }
+}
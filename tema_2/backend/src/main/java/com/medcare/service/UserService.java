@@ -13,12 +13,17 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CollectionVersions collectionVersions;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       CollectionVersions collectionVersions) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.collectionVersions = collectionVersions;
     }
 
+    // Every user write goes through here (admin creation and self-registration), so the users ETag
+    // is bumped in one place
     @Transactional
     public User createUser(User user) {
         if (userRepository.existsByUsername(user.getUsername())) {
@@ -26,6 +31,7 @@ public class UserService {
         }
 
         user.setPassword(passwordEncoder.encode(user.getPassword()));
+        collectionVersions.changed(CollectionVersions.Kind.USERS);
         return userRepository.save(user);
     }
 
@@ -8,12 +8,12 @@ import com.medcare.model.User;
 import com.medcare.repository.UserRepository;
 import com.medcare.security.JwtTokenProvider;
 import com.medcare.service.AuthService;
+import com.medcare.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -26,7 +26,7 @@ public class AuthServiceImpl implements AuthService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private UserService userService;
 
     @Autowired
     private JwtTokenProvider tokenProvider;
@@ -57,16 +57,12 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public void register(RegisterRequest registerRequest) {
-        if (userRepository.existsByUsername(registerRequest.getUsername())) {
-            throw new RuntimeException("Username is already taken!");
-        }
-
         User user = new User();
         user.setUsername(registerRequest.getUsername());
-        user.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
+        user.setPassword(registerRequest.getPassword());
         user.setFullName(registerRequest.getFullName());
         user.setRole(registerRequest.getRole());
 
-        userRepository.save(user);
+        userService.createUser(user);
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
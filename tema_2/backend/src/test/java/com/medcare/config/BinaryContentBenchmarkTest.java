@@ -0,0 +1,80 @@
+package com.medcare.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.medcare.dto.AppointmentPage;
+import com.medcare.dto.AppointmentView;
+import com.medcare.model.Appointment;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Encodes a 50k-row appointment list with the JSON and the CBOR mapper and logs size and encode time.
+// Only the size is asserted; the timings are there to read. Runs only in the benchmark profile: mvn test -Pbenchmark
+@Tag("benchmark")
+class BinaryContentBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BinaryContentBenchmarkTest.class);
+
+    private static final int ROWS = 50_000;
+    private static final int ROUNDS = 5;
+
+    @Test
+    void cborIsSmallerThanJsonForLargeLists() throws Exception {
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .build();
+        ObjectMapper cbor = new BinaryContentConfig().cborHttpMessageConverter().getObjectMapper();
+        AppointmentPage<AppointmentView> page = new AppointmentPage<>(rows(), null);
+
+        long[] jsonResult = encode(json, page);
+        long[] cborResult = encode(cbor, page);
+        log.info(String.format("%d rows: json %d bytes in %.1f ms, cbor %d bytes in %.1f ms (%.0f%% of json)",
+                ROWS, jsonResult[0], jsonResult[1] / 1e6, cborResult[0], cborResult[1] / 1e6,
+                100.0 * cborResult[0] / jsonResult[0]));
+
+        assertTrue(cborResult[0] < jsonResult[0]);
+        assertEquals(ROWS, cbor.readTree(cbor.writeValueAsBytes(page)).get("items").size());
+    }
+
+    // Best of a few rounds after warm-up: { bytes, nanos }
+    private static long[] encode(ObjectMapper mapper, Object value) throws Exception {
+        int size = mapper.writeValueAsBytes(value).length;
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long started = System.nanoTime();
+            mapper.writeValueAsBytes(value);
+            best = Math.min(best, System.nanoTime() - started);
+        }
+        return new long[] { size, best };
+    }
+
+    private static List<AppointmentView> rows() {
+        Appointment.AppointmentStatus[] statuses = Appointment.AppointmentStatus.values();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 6, 8, 0);
+        List<AppointmentView> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            LocalDateTime time = start.plusMinutes(30L * i);
+            long doctor = i % 40 + 1;
+            long service = i % 12 + 1;
+            rows.add(new AppointmentView((long) i + 1, "Patient " + i, time, time.plusMinutes(30),
+                    statuses[i % statuses.length],
+                    doctor, "Doctor " + doctor, "Specialization " + doctor % 8,
+                    service, "Service " + service, BigDecimal.valueOf(100 + service * 25), Duration.ofMinutes(30),
+                    (long) i + 1));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,62 @@
+package com.medcare.controller;
+
+import com.medcare.service.CollectionVersions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ConditionalGetTest {
+
+    private CollectionVersions collectionVersions;
+    private ConditionalGet conditionalGet;
+
+    @BeforeEach
+    void setUp() {
+        collectionVersions = new CollectionVersions();
+        conditionalGet = new ConditionalGet(collectionVersions);
+    }
+
+    @Test
+    void variantFollowsNegotiatedMediaType() {
+        assertNull(ConditionalGet.variant(request(null)));
+        assertNull(ConditionalGet.variant(request("application/json")));
+        assertNull(ConditionalGet.variant(request("*/*")));
+        assertNull(ConditionalGet.variant(request("application/cbor;q=0.5, application/json")));
+        assertNull(ConditionalGet.variant(request("not a media type")));
+        assertEquals("cbor", ConditionalGet.variant(request("application/cbor")));
+        assertEquals("cbor", ConditionalGet.variant(request("application/cbor, */*;q=0.8")));
+        assertEquals("cbor", ConditionalGet.variant(request("application/json;q=0.5, application/cbor")));
+    }
+
+    @Test
+    void jsonTagDoesNotMatchCborRequest() {
+        ServletWebRequest json = request("application/json");
+        ResponseEntity<String> first = conditionalGet.respond(json, CollectionVersions.Kind.DOCTORS, () -> "body");
+        assertNotNull(first);
+        String jsonTag = first.getHeaders().getETag();
+
+        ServletWebRequest cbor = request("application/cbor");
+        ((MockHttpServletRequest) cbor.getRequest()).addHeader(HttpHeaders.IF_NONE_MATCH, jsonTag);
+        ResponseEntity<String> second = conditionalGet.respond(cbor, CollectionVersions.Kind.DOCTORS, () -> "body");
+
+        assertNotNull(second);
+        assertNotEquals(jsonTag, second.getHeaders().getETag());
+    }
+
+    private static ServletWebRequest request(String accept) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/receptionist/doctors");
+        if (accept != null) {
+            request.addHeader(HttpHeaders.ACCEPT, accept);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
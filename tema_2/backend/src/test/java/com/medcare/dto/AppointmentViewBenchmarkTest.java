@@ -0,0 +1,117 @@
+package com.medcare.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.medcare.model.Appointment;
+import com.medcare.model.Doctor;
+import com.medcare.model.MedicalService;
+import com.medcare.model.User;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Serializes the same 10k appointments as entity graphs and as AppointmentView rows and logs payload
+// size and serialization time. Only the size is asserted; the timings are there to read.
+// Runs only in the benchmark profile: mvn test -Pbenchmark
+@Tag("benchmark")
+class AppointmentViewBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentViewBenchmarkTest.class);
+
+    private static final int ROWS = 10_000;
+    private static final int ROUNDS = 5;
+
+    @Test
+    void viewsAreSmallerThanEntities() throws Exception {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .build();
+        List<Appointment> entities = entities();
+        List<AppointmentView> views = entities.stream().map(AppointmentViewBenchmarkTest::view).toList();
+
+        long[] entityResult = encode(mapper, entities);
+        long[] viewResult = encode(mapper, views);
+        log.info(String.format("%d rows: entities %d bytes in %.1f ms, views %d bytes in %.1f ms (%.0f%% of entities)",
+                ROWS, entityResult[0], entityResult[1] / 1e6, viewResult[0], viewResult[1] / 1e6,
+                100.0 * viewResult[0] / entityResult[0]));
+
+        assertTrue(viewResult[0] < entityResult[0]);
+        String viewJson = mapper.writeValueAsString(views.get(0));
+        assertFalse(viewJson.contains("createdBy"));
+        assertFalse(viewJson.contains("startTime"));
+    }
+
+    // Best of a few rounds after warm-up: { bytes, nanos }
+    private static long[] encode(ObjectMapper mapper, Object value) throws Exception {
+        int size = mapper.writeValueAsBytes(value).length;
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long started = System.nanoTime();
+            mapper.writeValueAsBytes(value);
+            best = Math.min(best, System.nanoTime() - started);
+        }
+        return new long[] { size, best };
+    }
+
+    private static List<Appointment> entities() {
+        List<Doctor> doctors = new ArrayList<>();
+        for (long i = 1; i <= 40; i++) {
+            Doctor doctor = new Doctor();
+            doctor.setId(i);
+            doctor.setName("Doctor " + i);
+            doctor.setSpecialization("Specialization " + i % 8);
+            doctor.setStartTime(LocalTime.of(8, 0));
+            doctor.setEndTime(LocalTime.of(20, 0));
+            doctors.add(doctor);
+        }
+        List<MedicalService> services = new ArrayList<>();
+        for (long i = 1; i <= 12; i++) {
+            MedicalService service = new MedicalService();
+            service.setId(i);
+            service.setName("Service " + i);
+            service.setPrice(BigDecimal.valueOf(100 + i * 25));
+            service.setDuration(Duration.ofMinutes(30));
+            services.add(service);
+        }
+        User receptionist = new User();
+        receptionist.setId(1L);
+        receptionist.setUsername("reception");
+        receptionist.setPassword("$2a$10$abcdefghijklmnopqrstuuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ01");
+        receptionist.setFullName("Front Desk");
+        receptionist.setRole(User.UserRole.RECEPTIONIST);
+
+        Appointment.AppointmentStatus[] statuses = Appointment.AppointmentStatus.values();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 6, 8, 0);
+        List<Appointment> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            LocalDateTime time = start.plusMinutes(30L * i);
+            rows.add(new Appointment((long) i + 1, "Patient " + i, doctors.get(i % doctors.size()),
+                    services.get(i % services.size()), time, time.plusMinutes(30), statuses[i % statuses.length],
+                    receptionist, (long) i + 1));
+        }
+        return rows;
+    }
+
+    private static AppointmentView view(Appointment appointment) {
+        return new AppointmentView(appointment.getId(), appointment.getPatientName(), appointment.getAppointmentTime(),
+                appointment.getEndTime(), appointment.getStatus(),
+                appointment.getDoctor().getId(), appointment.getDoctor().getName(),
+                appointment.getDoctor().getSpecialization(),
+                appointment.getService().getId(), appointment.getService().getName(),
+                appointment.getService().getPrice(), appointment.getService().getDuration(),
+                appointment.getChangeVersion());
+    }
+}
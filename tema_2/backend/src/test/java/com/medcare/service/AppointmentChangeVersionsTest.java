@@ -0,0 +1,122 @@
+package com.medcare.service;
+
+import com.medcare.dto.AppointmentChanges;
+import com.medcare.dto.AppointmentRequest;
+import com.medcare.dto.AppointmentView;
+import com.medcare.model.Appointment;
+import com.medcare.security.UserPrincipal;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// A write that takes a change version and commits after a write with a higher version: a client syncing
+// between the two commits must neither skip the lower version nor get the higher one twice.
+class AppointmentChangeVersionsTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    private static TestNode node;
+    private static UserPrincipal principal;
+    private static Long first;
+    private static Long second;
+
+    @BeforeAll
+    static void startNode() {
+        node = TestNode.start(TestDatabase.h2("change-versions"), "create-drop", "app.booking.fastPath=false");
+        Long doctorId = node.doctor("Dr. Versions");
+        Long serviceId = node.service("Consultation", Duration.ofMinutes(30));
+        principal = node.receptionist("versions-receptionist");
+        first = book(doctorId, serviceId, DAY);
+        second = book(doctorId, serviceId, DAY.plusHours(1));
+    }
+
+    @AfterAll
+    static void stopNode() {
+        if (node != null) {
+            node.close();
+        }
+    }
+
+    @Test
+    void lowerVersionCommittedLateIsNeitherLostNorDuplicated() throws Exception {
+        ReceptionistService service = node.bean(ReceptionistService.class);
+        TransactionTemplate transaction = new TransactionTemplate(node.bean(PlatformTransactionManager.class));
+        String since = sync(service, "0", new ArrayList<>());
+
+        CountDownLatch versioned = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Long> slow = CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+            long version = service.updateAppointmentStatus(first, Appointment.AppointmentStatus.IN_PROGRESS)
+                    .getChangeVersion();
+            versioned.countDown();
+            await(release);
+            return version;
+        }));
+        try {
+            assertTrue(versioned.await(10, TimeUnit.SECONDS));
+            long fastVersion = service.updateAppointmentStatus(second, Appointment.AppointmentStatus.IN_PROGRESS)
+                    .getChangeVersion();
+
+            // The higher version has committed, but the lower one is still in flight, so neither is handed out
+            List<AppointmentView> between = new ArrayList<>();
+            since = sync(service, since, between);
+            assertEquals(List.of(), between);
+            assertTrue(Long.parseLong(since) < fastVersion);
+        } finally {
+            release.countDown();
+        }
+        long slowVersion = slow.get(10, TimeUnit.SECONDS);
+
+        List<AppointmentView> after = new ArrayList<>();
+        since = sync(service, since, after);
+        assertEquals(List.of(first, second), after.stream().map(AppointmentView::getId).toList());
+        assertTrue(after.stream().allMatch(row -> row.getStatus() == Appointment.AppointmentStatus.IN_PROGRESS));
+        assertTrue(Long.parseLong(since) > slowVersion);
+
+        // Caught up: syncing again returns nothing
+        List<AppointmentView> again = new ArrayList<>();
+        sync(service, since, again);
+        assertEquals(List.of(), again);
+    }
+
+    // Follows the since token until caught up, as the client does; small pages exercise the version:id tokens
+    private static String sync(ReceptionistService service, String since, List<AppointmentView> into) {
+        AppointmentChanges page;
+        do {
+            page = service.findChanges(since, 1);
+            into.addAll(page.getItems());
+            since = page.getSince();
+        } while (page.isHasMore());
+        return since;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Long book(Long doctorId, Long serviceId, LocalDateTime time) {
+        AppointmentRequest request = new AppointmentRequest();
+        request.setPatientName("Patient " + time);
+        request.setDoctorId(doctorId);
+        request.setServiceId(serviceId);
+        request.setAppointmentTime(time);
+        return TestNode.as(principal, () -> node.bean(ReceptionistService.class).createAppointment(request)).getId();
+    }
+}
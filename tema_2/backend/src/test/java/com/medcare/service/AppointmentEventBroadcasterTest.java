@@ -0,0 +1,120 @@
+package com.medcare.service;
+
+import com.medcare.dto.AppointmentEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AppointmentEventBroadcasterTest {
+
+    private ThreadPoolTaskExecutor executor;
+    private final Deque<SseEmitter> emitters = new ArrayDeque<>();
+    private AppointmentEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        // One sender thread, so a single stalled client would block everyone without the stand-in
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(100);
+        executor.initialize();
+
+        broadcaster = new AppointmentEventBroadcaster(executor) {
+            @Override
+            SseEmitter createEmitter() {
+                return emitters.pop();
+            }
+        };
+        ReflectionTestUtils.setField(broadcaster, "maxSubscribers", 10);
+        ReflectionTestUtils.setField(broadcaster, "queueCapacity", 16);
+        ReflectionTestUtils.setField(broadcaster, "heartbeatMs", 60_000L);
+        ReflectionTestUtils.setField(broadcaster, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(broadcaster, "sendTimeoutMs", 100L);
+        ReflectionTestUtils.setField(broadcaster, "maxStalledSends", 4);
+        broadcaster.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.stop();
+        executor.shutdown();
+    }
+
+    @Test
+    void stalledSendDoesNotHoldUpOtherSubscribers() throws Exception {
+        BlockingEmitter slow = new BlockingEmitter();
+        BlockingEmitter fast = new BlockingEmitter();
+        fast.release.countDown();
+        emitters.add(slow);
+        emitters.add(fast);
+        broadcaster.subscribe(1L, null);
+        broadcaster.publish(event(1L, 1L));
+        assertTrue(slow.entered.await(5, TimeUnit.SECONDS));
+
+        // Queued behind the blocked send until the watchdog adds a stand-in thread
+        broadcaster.subscribe(null, null);
+        broadcaster.publish(event(2L, 2L));
+
+        assertTrue(fast.sent.await(5, TimeUnit.SECONDS));
+        assertEquals(1L, broadcaster.metrics().get("stalledSends"));
+        assertEquals(1, broadcaster.metrics().get("subscribers"));
+        assertEquals(2, executor.getCorePoolSize());
+
+        // Once the blocked write returns, its subscriber is closed and the pool shrinks back
+        slow.release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getCorePoolSize() != 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, executor.getCorePoolSize());
+        assertEquals(1, executor.getMaxPoolSize());
+        assertEquals(0, broadcaster.metrics().get("stalledThreads"));
+        assertTrue(slow.completed);
+    }
+
+    private static AppointmentEvent event(Long id, Long doctorId) {
+        AppointmentEvent event = new AppointmentEvent();
+        event.setType(AppointmentEvent.STATUS);
+        event.setAppointmentId(id);
+        event.setDoctorId(doctorId);
+        return event;
+    }
+
+    // Stands in for a servlet response whose client stopped reading: send blocks until released
+    private static class BlockingEmitter extends SseEmitter {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch sent = new CountDownLatch(1);
+        volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            sent.countDown();
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.medcare.service;
+
+import com.medcare.model.Appointment;
+import com.medcare.model.Doctor;
+import com.medcare.repository.AppointmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AppointmentLedgerTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    private AppointmentLedger appointmentLedger;
+
+    @BeforeEach
+    void setUp() {
+        AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+        when(appointmentRepository.findLedgerEntries()).thenReturn(List.<Object[]>of(
+                new Object[] { 1L, 1L, NINE, NINE.plusHours(2), null },
+                new Object[] { 2L, 2L, NINE, null, Duration.ofMinutes(20) }));
+        appointmentLedger = new AppointmentLedger(appointmentRepository);
+        appointmentLedger.load();
+    }
+
+    @Test
+    void longestIsTrackedPerDoctor() {
+        assertEquals(Duration.ofHours(2), appointmentLedger.longest(1L));
+        assertEquals(Duration.ofMinutes(20), appointmentLedger.longest(2L));
+        assertEquals(Duration.ZERO, appointmentLedger.longest(3L));
+
+        appointmentLedger.record(appointment(3L, 2L, NINE.plusHours(3), Duration.ofMinutes(50)));
+        assertEquals(Duration.ofMinutes(50), appointmentLedger.longest(2L));
+    }
+
+    @Test
+    void longBookingIsFoundFromWellAfterItsStart() {
+        appointmentLedger.record(appointment(3L, 1L, NINE.plusHours(3), Duration.ofMinutes(15)));
+
+        assertTrue(appointmentLedger.overlaps(1L, NINE.plusMinutes(110), NINE.plusMinutes(130)));
+        assertFalse(appointmentLedger.overlaps(1L, NINE.plusHours(2), NINE.plusHours(3)));
+        assertTrue(appointmentLedger.overlaps(1L, NINE.plusMinutes(190), NINE.plusMinutes(200)));
+    }
+
+    private static Appointment appointment(Long id, Long doctorId, LocalDateTime start, Duration duration) {
+        Doctor doctor = new Doctor();
+        doctor.setId(doctorId);
+        Appointment appointment = new Appointment();
+        appointment.setId(id);
+        appointment.setDoctor(doctor);
+        appointment.setAppointmentTime(start);
+        appointment.setEndTime(start.plus(duration));
+        return appointment;
+    }
+}
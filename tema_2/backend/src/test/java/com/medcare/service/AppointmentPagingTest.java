@@ -0,0 +1,131 @@
+package com.medcare.service;
+
+import com.medcare.dto.AppointmentFilter;
+import com.medcare.dto.AppointmentPage;
+import com.medcare.dto.AppointmentRequest;
+import com.medcare.dto.AppointmentView;
+import com.medcare.model.Appointment;
+import com.medcare.security.UserPrincipal;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Keyset paging of findAppointments on a real database: AppointmentSpecifications.after with ties on the
+// appointment time, and the status filter against statuses still waiting in the write-behind queue.
+class AppointmentPagingTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 2, 9, 0);
+    private static final int DOCTORS = 3;
+
+    private static TestNode node;
+    private static final List<Long> ids = new ArrayList<>();
+
+    @BeforeAll
+    static void startNode() {
+        // The queue never flushes on its own during the test
+        node = TestNode.start(TestDatabase.h2("appointment-paging"), "create-drop",
+                "app.booking.fastPath=false", "app.statusWriteBehind.enabled=true",
+                "app.statusWriteBehind.maxDelayMs=3600000", "app.statusWriteBehind.maxPending=100000");
+        List<Long> doctorIds = new ArrayList<>();
+        for (int i = 0; i < DOCTORS; i++) {
+            doctorIds.add(node.doctor("Dr. Page " + i));
+        }
+        Long serviceId = node.service("Consultation", Duration.ofMinutes(30));
+        UserPrincipal principal = node.receptionist("paging-receptionist");
+
+        // Three doctors at every half hour, so every time is shared by three rows
+        for (int slot = 0; slot < 4; slot++) {
+            for (Long doctorId : doctorIds) {
+                AppointmentRequest request = new AppointmentRequest();
+                request.setPatientName("Patient " + slot + "-" + doctorId);
+                request.setDoctorId(doctorId);
+                request.setServiceId(serviceId);
+                request.setAppointmentTime(DAY.plusMinutes(30L * slot));
+                ids.add(TestNode.as(principal, () -> node.bean(ReceptionistService.class).createAppointment(request)).getId());
+            }
+        }
+    }
+
+    @AfterAll
+    static void stopNode() {
+        if (node != null) {
+            node.close();
+        }
+    }
+
+    @Test
+    void pagesCoverEveryRowOnceAcrossEqualTimes() {
+        // Page sizes that end pages both on and in the middle of a group of equal times
+        for (int size : List.of(1, 2, 3, 5, 12, 13)) {
+            List<AppointmentView> all = pages(new AppointmentFilter(), size);
+            assertEquals(ids, all.stream().map(AppointmentView::getId).toList(), "page size " + size);
+        }
+    }
+
+    @Test
+    void statusFilterSeesQueuedStatuses() {
+        ReceptionistService service = node.bean(ReceptionistService.class);
+        StatusWriteBehindQueue queue = node.bean(StatusWriteBehindQueue.class);
+        Long completed = ids.get(4);
+        Long reopened = ids.get(7);
+        try {
+            service.queueAppointmentStatus(completed, Appointment.AppointmentStatus.COMPLETED);
+            service.queueAppointmentStatus(reopened, Appointment.AppointmentStatus.IN_PROGRESS);
+
+            assertEquals(List.of(completed), ids(status(Appointment.AppointmentStatus.COMPLETED), 1));
+            assertEquals(List.of(reopened), ids(status(Appointment.AppointmentStatus.IN_PROGRESS), 1));
+            List<Long> stillNew = new ArrayList<>(ids);
+            stillNew.removeAll(List.of(completed, reopened));
+            assertEquals(stillNew, ids(status(Appointment.AppointmentStatus.NEW), 4));
+
+            // Once written, the stored status gives the same pages
+            queue.flush();
+            assertEquals(List.of(completed), ids(status(Appointment.AppointmentStatus.COMPLETED), 1));
+            assertEquals(stillNew, ids(status(Appointment.AppointmentStatus.NEW), 4));
+        } finally {
+            queue.flush();
+            service.updateAppointmentStatus(completed, Appointment.AppointmentStatus.NEW);
+            service.updateAppointmentStatus(reopened, Appointment.AppointmentStatus.NEW);
+        }
+    }
+
+    private static AppointmentFilter status(Appointment.AppointmentStatus status) {
+        AppointmentFilter filter = new AppointmentFilter();
+        filter.setStatus(status);
+        return filter;
+    }
+
+    private static List<Long> ids(AppointmentFilter filter, int size) {
+        List<AppointmentView> rows = pages(filter, size);
+        rows.forEach(row -> assertEquals(filter.getStatus(), row.getStatus()));
+        return rows.stream().map(AppointmentView::getId).toList();
+    }
+
+    // Follows nextCursor to the end
+    private static List<AppointmentView> pages(AppointmentFilter filter, int size) {
+        ReceptionistService service = node.bean(ReceptionistService.class);
+        List<AppointmentView> rows = new ArrayList<>();
+        filter.setSize(size);
+        filter.setCursor(null);
+        AppointmentPage<AppointmentView> page;
+        do {
+            page = service.findAppointments(filter);
+            rows.addAll(page.getItems());
+            filter.setCursor(page.getNextCursor());
+        } while (page.getNextCursor() != null);
+        assertNull(filter.getCursor());
+        List<AppointmentView> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparing(AppointmentView::getAppointmentTime).thenComparing(AppointmentView::getId));
+        assertEquals(sorted, rows);
+        return rows;
+    }
+}
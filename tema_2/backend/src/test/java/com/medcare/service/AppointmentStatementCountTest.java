@@ -0,0 +1,104 @@
+package com.medcare.service;
+
+import com.medcare.dto.AppointmentFilter;
+import com.medcare.dto.AppointmentRequest;
+import com.medcare.security.UserPrincipal;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The report and list endpoints run a fixed number of statements however many rows they return. Each row of
+// the larger day has its own doctor and service, so lazily loading either association per row would show.
+class AppointmentStatementCountTest {
+
+    private static final LocalDateTime ONE_ROW_DAY = LocalDateTime.of(2026, 3, 2, 9, 0);
+    private static final LocalDateTime MANY_ROWS_DAY = LocalDateTime.of(2026, 3, 3, 9, 0);
+    private static final int ROWS = 8;
+
+    private static TestNode node;
+    private static final List<Long> oneRowIds = new ArrayList<>();
+    private static final List<Long> manyRowIds = new ArrayList<>();
+
+    @BeforeAll
+    static void startNode() {
+        node = TestNode.start(TestDatabase.h2("appointment-statements"), "create-drop", "app.booking.fastPath=false");
+        List<Long> doctorIds = new ArrayList<>();
+        List<Long> serviceIds = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            doctorIds.add(node.doctor("Dr. Count " + i));
+            serviceIds.add(node.service("Service " + i, Duration.ofMinutes(30)));
+        }
+        UserPrincipal principal = node.receptionist("statements-receptionist");
+
+        oneRowIds.add(book(principal, doctorIds.get(0), serviceIds.get(0), ONE_ROW_DAY));
+        for (int i = 0; i < ROWS; i++) {
+            manyRowIds.add(book(principal, doctorIds.get(i), serviceIds.get(i), MANY_ROWS_DAY.plusMinutes(30L * i)));
+        }
+    }
+
+    @AfterAll
+    static void stopNode() {
+        if (node != null) {
+            node.close();
+        }
+    }
+
+    @Test
+    void reportsRunTheSameStatementsForOneAndManyRows() {
+        AdminService admin = node.bean(AdminService.class);
+        LocalDateTime from = MANY_ROWS_DAY.toLocalDate().atStartOfDay();
+        assertEquals(ROWS, admin.getAppointmentsReport(from.toString(), from.plusDays(1).toString()).get("totalAppointments"));
+
+        assertSameStatements(day -> admin.getAppointmentsReport(day.toString(), day.plusDays(1).toString()));
+        assertSameStatements(day -> admin.getDoctorsReport(day.toString(), day.plusDays(1).toString()));
+        assertSameStatements(day -> admin.getServicesReport(day.toString(), day.plusDays(1).toString()));
+    }
+
+    @Test
+    void appointmentListRunsTheSameStatementsForOneAndManyRows() {
+        ReceptionistService service = node.bean(ReceptionistService.class);
+        assertEquals(ROWS, service.getAppointments(manyRowIds).getItems().size());
+
+        assertSameStatements(day -> {
+            AppointmentFilter filter = new AppointmentFilter();
+            filter.setFrom(day);
+            filter.setTo(day.plusDays(1));
+            return service.findAppointments(filter);
+        });
+        assertEquals(statements(() -> service.getAppointments(oneRowIds)),
+                statements(() -> service.getAppointments(manyRowIds)));
+    }
+
+    private static void assertSameStatements(Function<LocalDateTime, Object> call) {
+        LocalDateTime oneRowDay = ONE_ROW_DAY.toLocalDate().atStartOfDay();
+        LocalDateTime manyRowsDay = MANY_ROWS_DAY.toLocalDate().atStartOfDay();
+        // Warm up first, so one-off lookups such as the catalog cache load are not counted
+        call.apply(oneRowDay);
+        assertEquals(statements(() -> call.apply(oneRowDay)), statements(() -> call.apply(manyRowsDay)));
+    }
+
+    private static long statements(Runnable call) {
+        Statistics statistics = node.statistics();
+        long before = statistics.getPrepareStatementCount();
+        call.run();
+        return statistics.getPrepareStatementCount() - before;
+    }
+
+    private static Long book(UserPrincipal principal, Long doctorId, Long serviceId, LocalDateTime time) {
+        AppointmentRequest request = new AppointmentRequest();
+        request.setPatientName("Patient " + doctorId + " " + time);
+        request.setDoctorId(doctorId);
+        request.setServiceId(serviceId);
+        request.setAppointmentTime(time);
+        return TestNode.as(principal, () -> node.bean(ReceptionistService.class).createAppointment(request)).getId();
+    }
+}
@@ -0,0 +1,122 @@
+package com.medcare.service;
+
+import com.medcare.dto.AppointmentRequest;
+import com.medcare.dto.BatchItemResult;
+import com.medcare.security.UserPrincipal;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Rows per second for the batch endpoint against one createAppointment call per row, with single inserts
+// on the fast path. Runs on PostgreSQL (see TestDatabase) and only in the benchmark profile: mvn test -Pbenchmark
+@Tag("benchmark")
+class BatchBookingBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchBookingBenchmarkTest.class);
+
+    private static final int WARMUP = 300;
+    private static final int ROWS = 3000;
+    private static final int DOCTORS = 20;
+    private static final LocalDateTime FIRST_DAY = LocalDateTime.of(2027, 1, 4, 8, 0);
+
+    private static TestNode node;
+    private static final List<Long> doctorIds = new ArrayList<>();
+    private static Long serviceId;
+    private static UserPrincipal principal;
+    // Each run books its own days, so single and batch rows never conflict with each other
+    private static int nextDay;
+
+    @BeforeAll
+    static void startNode() {
+        node = TestNode.start(TestDatabase.postgres("batch_benchmark"), "create-drop", "app.booking.fastPath=true");
+        for (int i = 0; i < DOCTORS; i++) {
+            doctorIds.add(node.doctor("Dr. Batch " + i));
+        }
+        serviceId = node.service("Consultation", Duration.ofMinutes(30));
+        principal = node.receptionist("batch-receptionist");
+    }
+
+    @AfterAll
+    static void stopNode() {
+        if (node != null) {
+            node.close();
+        }
+    }
+
+    @Test
+    void batchInsertsOutrunSingleInserts() {
+        ReceptionistService service = node.bean(ReceptionistService.class);
+        Statistics statistics = node.statistics();
+        TestNode.as(principal, () -> {
+            single(service, requests(WARMUP));
+            batch(service, requests(WARMUP));
+
+            List<AppointmentRequest> singleRows = requests(ROWS);
+            long statementsBefore = statistics.getPrepareStatementCount();
+            long singleNanos = single(service, singleRows);
+            long singleStatements = statistics.getPrepareStatementCount() - statementsBefore;
+
+            List<AppointmentRequest> batchRows = requests(ROWS);
+            statementsBefore = statistics.getPrepareStatementCount();
+            long batchNanos = batch(service, batchRows);
+            long batchStatements = statistics.getPrepareStatementCount() - statementsBefore;
+
+            double singleRate = ROWS / (singleNanos / 1e9);
+            double batchRate = ROWS / (batchNanos / 1e9);
+            log.info(String.format("%d rows: single %.0f rows/s (%.2f statements/row), "
+                            + "batch %.0f rows/s (%.3f statements/row), %.1fx",
+                    ROWS, singleRate, (double) singleStatements / ROWS,
+                    batchRate, (double) batchStatements / ROWS, batchRate / singleRate));
+
+            // One prepared statement per JDBC batch of 50 inserts, plus one sequence call per 50 ids
+            assertTrue(batchStatements * 10L < singleStatements);
+            return null;
+        });
+    }
+
+    private static long single(ReceptionistService service, List<AppointmentRequest> requests) {
+        long started = System.nanoTime();
+        for (AppointmentRequest request : requests) {
+            service.createAppointment(request);
+        }
+        return System.nanoTime() - started;
+    }
+
+    private static long batch(ReceptionistService service, List<AppointmentRequest> requests) {
+        long started = System.nanoTime();
+        for (int from = 0; from < requests.size(); from += ReceptionistService.MAX_BATCH_SIZE) {
+            List<BatchItemResult> results = service.createAppointments(
+                    requests.subList(from, Math.min(from + ReceptionistService.MAX_BATCH_SIZE, requests.size())));
+            assertTrue(results.stream().allMatch(result -> result.getError() == null));
+        }
+        return System.nanoTime() - started;
+    }
+
+    // Free slots only, 24 half-hour slots per doctor and day
+    private static List<AppointmentRequest> requests(int count) {
+        List<AppointmentRequest> requests = new ArrayList<>(count);
+        int day = nextDay;
+        for (int i = 0; i < count; i++) {
+            day = nextDay + i / (DOCTORS * 24);
+            AppointmentRequest request = new AppointmentRequest();
+            request.setPatientName("Patient " + i);
+            request.setDoctorId(doctorIds.get(i % DOCTORS));
+            request.setServiceId(serviceId);
+            request.setAppointmentTime(FIRST_DAY.plusDays(day).plusMinutes(30L * (i / DOCTORS % 24)));
+            requests.add(request);
+        }
+        nextDay = day + 1;
+        return requests;
+    }
+}
@@ -0,0 +1,128 @@
+package com.medcare.service;
+
+import com.medcare.dto.AppointmentRequest;
+import com.medcare.security.UserPrincipal;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Statements per booking and booking latency for the JPA path and the conditional INSERT fast path.
+// Statements are Hibernate's prepared statement count, so they include every query the booking issues.
+// Runs on PostgreSQL (see TestDatabase) and only in the benchmark profile: mvn test -Pbenchmark
+@Tag("benchmark")
+class BookingBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingBenchmarkTest.class);
+
+    private static final int WARMUP = 200;
+    private static final int BOOKINGS = 2000;
+    private static final int DOCTORS = 10;
+    private static final LocalDateTime FIRST_DAY = LocalDateTime.of(2027, 1, 4, 8, 0);
+
+    private static TestNode jpaNode;
+    private static TestNode fastNode;
+    private static final List<Long> doctorIds = new ArrayList<>();
+    private static Long serviceId;
+    private static UserPrincipal principal;
+    // Each run books its own days, so the two paths never conflict with each other
+    private static int nextDay;
+
+    @BeforeAll
+    static void startNodes() {
+        TestDatabase database = TestDatabase.postgres("booking_benchmark");
+        jpaNode = TestNode.start(database, "create-drop", "app.booking.fastPath=false");
+        fastNode = TestNode.start(database, "none", "app.booking.fastPath=true");
+
+        for (int i = 0; i < DOCTORS; i++) {
+            doctorIds.add(jpaNode.doctor("Dr. Bench " + i));
+        }
+        serviceId = jpaNode.service("Consultation", Duration.ofMinutes(30));
+        principal = jpaNode.receptionist("bench-receptionist");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (fastNode != null) {
+            fastNode.close();
+        }
+        if (jpaNode != null) {
+            jpaNode.close();
+        }
+    }
+
+    @Test
+    void jpaPath() {
+        Result result = run(jpaNode);
+        result.log("jpa path");
+        // Doctor, service and user lookups and the insert; the overlap check runs against the ledger and
+        // the pooled id sequence adds one call per 50 rows
+        assertEquals(4.0, result.statementsPerBooking, 0.05);
+    }
+
+    @Test
+    void fastPath() {
+        Result result = run(fastNode);
+        result.log("fast path");
+        assertEquals(1.0, result.statementsPerBooking, 0.05);
+    }
+
+    private static Result run(TestNode node) {
+        ReceptionistService service = node.bean(ReceptionistService.class);
+        Statistics statistics = node.statistics();
+        return TestNode.as(principal, () -> {
+            book(service, WARMUP);
+            long statementsBefore = statistics.getPrepareStatementCount();
+            long[] nanos = book(service, BOOKINGS);
+            long statements = statistics.getPrepareStatementCount() - statementsBefore;
+            return new Result((double) statements / BOOKINGS, nanos);
+        });
+    }
+
+    // Sequential bookings on free slots, 24 half-hour slots per doctor and day
+    private static long[] book(ReceptionistService service, int count) {
+        long[] nanos = new long[count];
+        int day = nextDay;
+        for (int i = 0; i < count; i++) {
+            int doctor = i % DOCTORS;
+            int slot = i / DOCTORS % 24;
+            day = nextDay + i / (DOCTORS * 24);
+            AppointmentRequest request = new AppointmentRequest();
+            request.setPatientName("Patient " + i);
+            request.setDoctorId(doctorIds.get(doctor));
+            request.setServiceId(serviceId);
+            request.setAppointmentTime(FIRST_DAY.plusDays(day).plusMinutes(30L * slot));
+            long started = System.nanoTime();
+            service.createAppointment(request);
+            nanos[i] = System.nanoTime() - started;
+        }
+        nextDay = day + 1;
+        return nanos;
+    }
+
+    private record Result(double statementsPerBooking, long[] nanos) {
+
+        void log(String path) {
+            long[] sorted = nanos.clone();
+            Arrays.sort(sorted);
+            log.info(String.format("%s: %.2f statements/booking, p50 %.2f ms, p99 %.2f ms, %.0f bookings/s",
+                    path, statementsPerBooking, percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6,
+                    sorted.length / (Arrays.stream(sorted).sum() / 1e9)));
+        }
+
+        private static long percentile(long[] sorted, double p) {
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.medcare.service;
+
+import com.medcare.dto.AppointmentRequest;
+import com.medcare.repository.AppointmentRepository;
+import com.medcare.security.UserPrincipal;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Races bookings through ReceptionistService.createAppointment on the JPA path, so the doctor lock, the
+// ledger check and the insert all run as in production, then checks the rows the database ended up with.
+class BookingCoordinatorTest {
+
+    private static final int THREADS = 32;
+    private static final int BOOKINGS = 400;
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    private static TestNode node;
+    private static Long serviceId;
+    private static UserPrincipal principal;
+
+    @BeforeAll
+    static void startNode() {
+        node = TestNode.start(TestDatabase.h2("booking-coordinator"), "create-drop", "app.booking.fastPath=false");
+        serviceId = node.service("Consultation", Duration.ofMinutes(30));
+        principal = node.receptionist("coordinator-receptionist");
+    }
+
+    @AfterAll
+    static void stopNode() {
+        if (node != null) {
+            node.close();
+        }
+    }
+
+    @Test
+    void parallelBookingsOfOneSlotAcceptExactlyOne() throws Exception {
+        Long doctorId = node.doctor("Dr. Contested");
+        int accepted = race(doctorId, i -> DAY);
+
+        assertEquals(1, accepted);
+        assertEquals(1, rows(doctorId).size());
+    }
+
+    @Test
+    void parallelBookingsNeverOverlap() throws Exception {
+        Long doctorId = node.doctor("Dr. Busy");
+        // Starts on a 10 minute grid with 30 minute bookings, so most attempts conflict
+        int accepted = race(doctorId, i -> DAY.plusMinutes(10L * ThreadLocalRandom.current().nextInt(48)));
+
+        List<Object[]> rows = rows(doctorId);
+        assertTrue(accepted > 1);
+        assertEquals(accepted, rows.size());
+        for (int i = 1; i < rows.size(); i++) {
+            assertFalse(((LocalDateTime) rows.get(i)[2]).isBefore((LocalDateTime) rows.get(i - 1)[3]),
+                    "overlapping bookings " + rows.get(i - 1)[0] + " and " + rows.get(i)[0]);
+        }
+    }
+
+    // Doctors 1 and 257 share a stripe; batches taking overlapping stripe sets in any order must not deadlock
+    @Test
+    void multiDoctorBatchesDoNotDeadlock() {
+        BookingCoordinator bookingCoordinator = new BookingCoordinator();
+        List<List<Long>> batches = List.of(List.of(1L, 2L, 257L), List.of(257L, 2L), List.of(2L, 1L), List.of(258L, 1L));
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        assertTimeoutPreemptively(Duration.ofSeconds(20), () -> {
+            ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+            CountDownLatch done = new CountDownLatch(2000);
+            for (int i = 0; i < 2000; i++) {
+                List<Long> doctorIds = batches.get(i % batches.size());
+                pool.execute(() -> {
+                    bookingCoordinator.withDoctorLocks(doctorIds, () -> {
+                        seen.addAll(doctorIds);
+                        return null;
+                    });
+                    done.countDown();
+                });
+            }
+            assertTrue(done.await(20, TimeUnit.SECONDS));
+            pool.shutdown();
+        });
+        assertEquals(Set.of(1L, 2L, 257L, 258L), seen);
+    }
+
+    // Releases all attempts at once and returns how many the service accepted
+    private static int race(Long doctorId, IntFunction<LocalDateTime> time) throws InterruptedException {
+        ReceptionistService service = node.bean(ReceptionistService.class);
+        AtomicInteger accepted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(BOOKINGS);
+        for (int i = 0; i < BOOKINGS; i++) {
+            AppointmentRequest request = new AppointmentRequest();
+            request.setPatientName("Patient " + i);
+            request.setDoctorId(doctorId);
+            request.setServiceId(serviceId);
+            request.setAppointmentTime(time.apply(i));
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    TestNode.as(principal, () -> service.createAppointment(request));
+                    accepted.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    assertEquals("Doctor is not available at the requested time", e.getMessage());
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertTrue(done.await(60, TimeUnit.SECONDS));
+        pool.shutdown();
+        return accepted.get();
+    }
+
+    // Stored rows for the doctor as [id, doctorId, start, end], by start
+    private static List<Object[]> rows(Long doctorId) {
+        return node.bean(AppointmentRepository.class).findLedgerEntries().stream()
+                .filter(row -> doctorId.equals(row[1]))
+                .sorted(Comparator.comparing(row -> (LocalDateTime) row[2]))
+                .toList();
+    }
+}
@@ -0,0 +1,131 @@
+package com.medcare.service;
+
+import com.medcare.dto.AppointmentRequest;
+import com.medcare.model.Appointment;
+import com.medcare.repository.AppointmentRepository;
+import com.medcare.security.UserPrincipal;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// The conditional INSERT fast path on PostgreSQL. Two nodes share the database, so a booking made on one
+// is missing from the other's ledger and only the INSERT's NOT EXISTS stops an overlap. The advisory lock
+// of the cluster lock is what keeps two such INSERTs from both committing.
+class BookingFastPathTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    private static TestNode first;
+    private static TestNode second;
+    private static Long serviceId;
+    private static UserPrincipal principal;
+    // Seeded before the first booking, since each node's catalog cache loads once
+    private static Long storedDoctorId;
+    private static Long sharedDoctorId;
+    private static Long contestedDoctorId;
+
+    @BeforeAll
+    static void startNodes() {
+        TestDatabase database = TestDatabase.postgres("booking_fast_path");
+        first = TestNode.start(database, "create-drop", "app.booking.fastPath=true", "app.booking.clusterLock=true");
+        second = TestNode.start(database, "none", "app.booking.fastPath=true", "app.booking.clusterLock=true");
+        serviceId = first.service("Consultation", Duration.ofMinutes(30));
+        principal = first.receptionist("fast-receptionist");
+        storedDoctorId = first.doctor("Dr. Stored");
+        sharedDoctorId = first.doctor("Dr. Shared");
+        contestedDoctorId = first.doctor("Dr. Contested");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (second != null) {
+            second.close();
+        }
+        if (first != null) {
+            first.close();
+        }
+    }
+
+    @Test
+    void storesTheRowWithTheAuthenticatedCreator() {
+        Long doctorId = storedDoctorId;
+        Appointment appointment = book(first, doctorId, DAY);
+
+        assertNotNull(appointment.getId());
+        assertEquals(principal.getId(), appointment.getCreatedBy().getId());
+        assertEquals(principal.getId(), first.bean(JdbcTemplate.class).queryForObject(
+                "SELECT created_by FROM appointments WHERE id = ?", Long.class, appointment.getId()));
+        assertEquals("NEW", first.bean(JdbcTemplate.class).queryForObject(
+                "SELECT status FROM appointments WHERE id = ?", String.class, appointment.getId()));
+    }
+
+    @Test
+    void insertRejectsOverlapsTheLedgerHasNotSeen() {
+        Long doctorId = sharedDoctorId;
+        book(first, doctorId, DAY);
+
+        RuntimeException overlap = assertThrows(RuntimeException.class,
+                () -> book(second, doctorId, DAY.plusMinutes(10)));
+        assertEquals("Doctor is not available at the requested time", overlap.getMessage());
+        // Back to back is not an overlap
+        assertNotNull(book(second, doctorId, DAY.plusMinutes(30)).getId());
+        assertNotNull(book(second, doctorId, DAY.minusMinutes(30)).getId());
+    }
+
+    @Test
+    void parallelBookingsOfOneSlotOnTwoNodesAcceptExactlyOne() throws Exception {
+        Long doctorId = contestedDoctorId;
+        AtomicInteger accepted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> attempts = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            TestNode node = i % 2 == 0 ? first : second;
+            attempts.add(pool.submit(() -> {
+                start.await();
+                try {
+                    book(node, doctorId, DAY);
+                    accepted.incrementAndGet();
+                } catch (RuntimeException e) {
+                    assertEquals("Doctor is not available at the requested time", e.getMessage());
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> attempt : attempts) {
+            attempt.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(1, accepted.get());
+        assertEquals(1, first.bean(AppointmentRepository.class).findLedgerEntries().stream()
+                .filter(row -> doctorId.equals(row[1]))
+                .count());
+    }
+
+    private static Appointment book(TestNode node, Long doctorId, LocalDateTime time) {
+        AppointmentRequest request = new AppointmentRequest();
+        request.setPatientName("Patient " + time.toLocalTime());
+        request.setDoctorId(doctorId);
+        request.setServiceId(serviceId);
+        request.setAppointmentTime(time);
+        return TestNode.as(principal, () -> node.bean(ReceptionistService.class).createAppointment(request));
+    }
+}
@@ -0,0 +1,147 @@
+package com.medcare.service;
+
+import com.medcare.dto.AppointmentRequest;
+import com.medcare.model.Appointment;
+import com.medcare.repository.AppointmentRepository;
+import com.medcare.security.UserPrincipal;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Two application contexts stand in for two backend instances sharing one database. Each has its own
+// ledger and booking locks, so only the database lock taken by BookingGuard keeps them consistent.
+// Runs on H2, which takes the row lock fallback, so both nodes book through the JPA path.
+class BookingGuardClusterTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    private static TestNode first;
+    private static TestNode second;
+    private static Long serviceId;
+    private static UserPrincipal principal;
+
+    @BeforeAll
+    static void startNodes() {
+        TestDatabase database = TestDatabase.h2("booking-cluster");
+        first = TestNode.start(database, "create-drop", "app.booking.clusterLock=true", "app.booking.fastPath=false");
+        second = TestNode.start(database, "none", "app.booking.clusterLock=true", "app.booking.fastPath=false");
+        serviceId = first.service("Consultation", Duration.ofMinutes(30));
+        principal = first.receptionist("cluster-receptionist");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (second != null) {
+            second.close();
+        }
+        if (first != null) {
+            first.close();
+        }
+    }
+
+    @Test
+    void bookingsThroughBothNodesNeverOverlap() throws Exception {
+        Long doctorId = first.doctor("Dr. Shared");
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        AtomicInteger accepted = new AtomicInteger();
+        List<Future<?>> attempts = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            TestNode node = i % 2 == 0 ? first : second;
+            attempts.add(pool.submit(() -> {
+                // 30 minute bookings on a 10 minute grid, so most attempts conflict
+                LocalDateTime time = DAY.plusMinutes(10L * ThreadLocalRandom.current().nextInt(24));
+                try {
+                    book(node, doctorId, time);
+                    accepted.incrementAndGet();
+                } catch (RuntimeException e) {
+                    assertEquals("Doctor is not available at the requested time", e.getMessage());
+                }
+            }));
+        }
+        for (Future<?> attempt : attempts) {
+            attempt.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        List<Object[]> rows = first.bean(AppointmentRepository.class).findLedgerEntries().stream()
+                .filter(row -> doctorId.equals(row[1]))
+                .sorted(Comparator.comparing(row -> (LocalDateTime) row[2]))
+                .toList();
+        assertEquals(accepted.get(), rows.size());
+        for (int i = 1; i < rows.size(); i++) {
+            assertFalse(((LocalDateTime) rows.get(i)[2]).isBefore((LocalDateTime) rows.get(i - 1)[3]),
+                    "overlapping bookings " + rows.get(i - 1)[0] + " and " + rows.get(i)[0]);
+        }
+    }
+
+    @Test
+    void lockOnOneDoctorDoesNotBlockAnother() throws Exception {
+        Long lockedDoctorId = first.doctor("Dr. Locked");
+        Long otherDoctorId = first.doctor("Dr. Free");
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // The first node holds the database lock on one doctor inside an open transaction
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() ->
+                first.bean(TransactionTemplate.class).executeWithoutResult(status -> {
+                    first.bean(BookingGuard.class).lockDoctor(lockedDoctorId);
+                    locked.countDown();
+                    await(release);
+                }));
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+        try {
+            CompletableFuture<Appointment> blocked = CompletableFuture.supplyAsync(() -> book(second, lockedDoctorId, DAY));
+            Appointment other = CompletableFuture.supplyAsync(() -> book(second, otherDoctorId, DAY))
+                    .get(5, TimeUnit.SECONDS);
+            assertNotNull(other.getId());
+            assertThrows(TimeoutException.class, () -> blocked.get(500, TimeUnit.MILLISECONDS));
+
+            release.countDown();
+            assertNotNull(blocked.get(10, TimeUnit.SECONDS).getId());
+        } finally {
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static Appointment book(TestNode node, Long doctorId, LocalDateTime time) {
+        AppointmentRequest request = new AppointmentRequest();
+        request.setPatientName("Patient " + time.toLocalTime());
+        request.setDoctorId(doctorId);
+        request.setServiceId(serviceId);
+        request.setAppointmentTime(time);
+        return TestNode.as(principal, () -> node.bean(ReceptionistService.class).createAppointment(request));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(30, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.medcare.service;
+
+import com.medcare.dto.AppointmentRequest;
+import com.medcare.dto.CalendarDay;
+import com.medcare.dto.CalendarResponse;
+import com.medcare.model.Appointment;
+import com.medcare.security.UserPrincipal;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The calendar's native ROW_NUMBER query runs on PostgreSQL only, so this runs it there
+class CalendarQueryTest {
+
+    private static final YearMonth MARCH = YearMonth.of(2026, 3);
+
+    private static TestNode node;
+    private static Long firstDoctorId;
+    private static Long secondDoctorId;
+
+    @BeforeAll
+    static void startNode() {
+        node = TestNode.start(TestDatabase.postgres("calendar_query"), "create-drop", "app.booking.fastPath=false");
+        firstDoctorId = node.doctor("Dr. First");
+        secondDoctorId = node.doctor("Dr. Second");
+        Long serviceId = node.service("Consultation", Duration.ofMinutes(30));
+        UserPrincipal principal = node.receptionist("calendar-receptionist");
+
+        LocalDateTime second = LocalDateTime.of(2026, 3, 2, 0, 0);
+        book(principal, firstDoctorId, serviceId, second.withHour(11), "Ana");
+        book(principal, firstDoctorId, serviceId, second.withHour(9), "Bogdan");
+        book(principal, firstDoctorId, serviceId, second.withHour(8), "Carmen");
+        book(principal, secondDoctorId, serviceId, second.withHour(8), "Dan");
+        book(principal, firstDoctorId, serviceId, second.withHour(10), "Elena");
+        book(principal, firstDoctorId, serviceId, second.plusDays(1).withHour(9), "Florin");
+        // Just outside the month on both sides
+        book(principal, firstDoctorId, serviceId, LocalDateTime.of(2026, 2, 28, 19, 30), "Gina");
+        book(principal, firstDoctorId, serviceId, LocalDateTime.of(2026, 4, 1, 8, 0), "Horia");
+    }
+
+    @AfterAll
+    static void stopNode() {
+        if (node != null) {
+            node.close();
+        }
+    }
+
+    @Test
+    void keepsTheFirstEntriesOfEveryDayInTimeThenIdOrder() {
+        CalendarResponse calendar = calendar(null, 2);
+
+        assertEquals(List.of(LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 3)),
+                calendar.getDays().stream().map(CalendarDay::getDate).toList());
+        CalendarDay busy = calendar.getDays().get(0);
+        assertEquals(5, busy.getTotal());
+        assertEquals(Map.of(Appointment.AppointmentStatus.NEW, 5L), busy.getCounts());
+        // Both start at 08:00; Carmen was booked first
+        assertEquals(List.of("Carmen", "Dan"), patients(busy));
+        assertEquals("Dr. Second", busy.getFirst().get(1).getDoctorName());
+        assertEquals("Consultation", busy.getFirst().get(1).getServiceName());
+        assertEquals(LocalDateTime.of(2026, 3, 2, 8, 0), busy.getFirst().get(1).getAppointmentTime());
+        assertEquals(List.of("Florin"), patients(calendar.getDays().get(1)));
+    }
+
+    @Test
+    void filtersByDoctor() {
+        CalendarResponse calendar = calendar(firstDoctorId, 3);
+
+        CalendarDay busy = calendar.getDays().get(0);
+        assertEquals(4, busy.getTotal());
+        assertEquals(List.of("Carmen", "Bogdan", "Elena"), patients(busy));
+        assertTrue(busy.getFirst().stream().allMatch(entry -> "Dr. First".equals(entry.getDoctorName())));
+
+        CalendarDay secondDoctor = calendar(secondDoctorId, 3).getDays().get(0);
+        assertEquals(1, secondDoctor.getTotal());
+        assertEquals(List.of("Dan"), patients(secondDoctor));
+    }
+
+    @Test
+    void countsWithoutEntriesWhenNoneAreAskedFor() {
+        CalendarResponse calendar = calendar(null, 0);
+
+        assertEquals(5, calendar.getDays().get(0).getTotal());
+        assertTrue(calendar.getDays().stream().allMatch(day -> day.getFirst().isEmpty()));
+    }
+
+    private static CalendarResponse calendar(Long doctorId, int perDay) {
+        return node.bean(ReceptionistService.class).getCalendar(MARCH, doctorId, perDay);
+    }
+
+    private static List<String> patients(CalendarDay day) {
+        return day.getFirst().stream().map(CalendarDay.Entry::getPatientName).toList();
+    }
+
+    private static void book(UserPrincipal principal, Long doctorId, Long serviceId, LocalDateTime time, String patient) {
+        AppointmentRequest request = new AppointmentRequest();
+        request.setPatientName(patient);
+        request.setDoctorId(doctorId);
+        request.setServiceId(serviceId);
+        request.setAppointmentTime(time);
+        TestNode.as(principal, () -> node.bean(ReceptionistService.class).createAppointment(request));
+    }
+}
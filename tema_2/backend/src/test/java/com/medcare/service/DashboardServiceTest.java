@@ -0,0 +1,82 @@
+package com.medcare.service;
+
+import com.medcare.dto.AppointmentView;
+import com.medcare.dto.DashboardResponse;
+import com.medcare.model.Appointment;
+import com.medcare.repository.AppointmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DashboardServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+
+    private AppointmentRepository appointmentRepository;
+    private StatusWriteBehindQueue statusWriteBehindQueue;
+    private CollectionVersions collectionVersions;
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        appointmentRepository = mock(AppointmentRepository.class);
+        statusWriteBehindQueue = mock(StatusWriteBehindQueue.class);
+        when(statusWriteBehindQueue.pendingStatus(anyLong())).thenReturn(Optional.empty());
+        collectionVersions = new CollectionVersions();
+        dashboardService = new DashboardService(appointmentRepository, mock(CatalogCache.class), collectionVersions,
+                statusWriteBehindQueue);
+        ReflectionTestUtils.setField(dashboardService, "cacheMs", 60_000L);
+    }
+
+    @Test
+    void countsAgreeWithTheListIncludingQueuedStatuses() {
+        when(appointmentRepository.findViewsBetweenDates(any(), any())).thenReturn(List.of(
+                view(1L, 10L, Appointment.AppointmentStatus.NEW),
+                view(2L, 10L, Appointment.AppointmentStatus.NEW),
+                view(3L, 20L, Appointment.AppointmentStatus.IN_PROGRESS)));
+        when(statusWriteBehindQueue.pendingStatus(2L)).thenReturn(Optional.of(Appointment.AppointmentStatus.COMPLETED));
+
+        DashboardResponse dashboard = dashboardService.getDashboard(DAY);
+
+        assertEquals(Map.of(Appointment.AppointmentStatus.NEW, 1L, Appointment.AppointmentStatus.IN_PROGRESS, 1L,
+                Appointment.AppointmentStatus.COMPLETED, 1L), dashboard.getCountsByStatus());
+        assertEquals(Map.of(10L, 2L, 20L, 1L), dashboard.getCountsByDoctor());
+        assertEquals(Appointment.AppointmentStatus.COMPLETED, dashboard.getAppointments().get(1).getStatus());
+    }
+
+    @Test
+    void cachedUntilAnAppointmentChanges() {
+        when(appointmentRepository.findViewsBetweenDates(any(), any())).thenReturn(List.of());
+
+        DashboardResponse first = dashboardService.getDashboard(DAY);
+        assertSame(first, dashboardService.getDashboard(DAY));
+
+        collectionVersions.changed(CollectionVersions.Kind.APPOINTMENTS);
+        dashboardService.getDashboard(DAY);
+        verify(appointmentRepository, times(2)).findViewsBetweenDates(any(), any());
+    }
+
+    private static AppointmentView view(Long id, Long doctorId, Appointment.AppointmentStatus status) {
+        LocalDateTime time = DAY.atTime(9, 0).plusMinutes(30 * id);
+        return new AppointmentView(id, "Patient " + id, time, time.plusMinutes(30), status,
+                doctorId, "Doctor " + doctorId, "General", 1L, "Consultation", BigDecimal.TEN,
+                Duration.ofMinutes(30), 1L);
+    }
+}
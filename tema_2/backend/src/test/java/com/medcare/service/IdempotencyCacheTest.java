@@ -0,0 +1,79 @@
+package com.medcare.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyCacheTest {
+
+    private final IdempotencyCache cache = new IdempotencyCache(100, 60);
+
+    @Test
+    void retryGetsTheFirstResult() {
+        AtomicInteger calls = new AtomicInteger();
+        assertEquals(1, cache.execute(1L, "key", "request", calls::incrementAndGet));
+        assertEquals(1, cache.execute(1L, "key", "request", calls::incrementAndGet));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void errorReleasesWaitingDuplicatesAndTheKey() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch fail = new CountDownLatch(1);
+        CompletableFuture<Object> first = CompletableFuture.supplyAsync(() -> cache.execute(1L, "key", "request", () -> {
+            started.countDown();
+            await(fail);
+            throw new OutOfMemoryError("simulated");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Object> duplicate = new CompletableFuture<>();
+        Thread waiter = new Thread(() -> {
+            try {
+                duplicate.complete(cache.execute(1L, "key", "request", () -> "not run"));
+            } catch (Throwable e) {
+                duplicate.completeExceptionally(e);
+            }
+        });
+        waiter.start();
+        // Parked on the first request's result
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (waiter.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(Thread.State.WAITING, waiter.getState());
+
+        fail.countDown();
+        ExecutionException firstFailure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(OutOfMemoryError.class, firstFailure.getCause());
+        assertThrows(ExecutionException.class, () -> duplicate.get(5, TimeUnit.SECONDS));
+
+        // Forgotten, so a retry runs again
+        assertEquals("retried", cache.execute(1L, "key", "request", () -> "retried"));
+    }
+
+    @Test
+    void expiredEntriesRunAgain() {
+        IdempotencyCache expiring = new IdempotencyCache(100, 0);
+        AtomicInteger calls = new AtomicInteger();
+        expiring.execute(1L, "key", "request", calls::incrementAndGet);
+        expiring.execute(1L, "key", "request", calls::incrementAndGet);
+        assertEquals(2, calls.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.medcare.service;
+
+import com.medcare.dto.AppointmentEvent;
+import com.medcare.dto.PatientMatch;
+import com.medcare.repository.AppointmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PatientNameIndexTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    private PatientNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+        when(appointmentRepository.findPatientEntries()).thenReturn(List.<Object[]>of(
+                new Object[] { 1L, "Ion Popescu", NINE },
+                new Object[] { 2L, "Ioana Popa", NINE.plusDays(1) },
+                new Object[] { 3L, "Ștefan Ionescu", NINE.plusDays(2) },
+                new Object[] { 4L, "Maria Georgescu", NINE.plusDays(3) },
+                new Object[] { 5L, "Li", NINE.plusDays(4) },
+                new Object[] { 6L, "Ion Popescu", NINE.plusDays(5) }));
+        index = new PatientNameIndex(appointmentRepository);
+        index.load();
+    }
+
+    @Test
+    void typosStillFindThePatient() {
+        assertEquals("Ion Popescu", names(index.search("Ion Popesku", 5)).get(0));
+        assertEquals("Maria Georgescu", names(index.search("maria georgesco", 5)).get(0));
+    }
+
+    @Test
+    void partialNamesAndAccentsMatch() {
+        assertTrue(names(index.search("Popes", 5)).contains("Ion Popescu"));
+        assertEquals("Maria Georgescu", names(index.search("Georgescu", 5)).get(0));
+        // Diacritics and case are ignored on both sides
+        assertEquals("Ștefan Ionescu", names(index.search("STEFAN ionescu", 5)).get(0));
+    }
+
+    @Test
+    void closerNamesRankFirst() {
+        List<PatientMatch> matches = index.search("Ion Popescu", 5);
+
+        assertEquals("Ion Popescu", matches.get(0).getPatientName());
+        assertEquals(1.0, matches.get(0).getSimilarity(), 1e-9);
+        for (int i = 1; i < matches.size(); i++) {
+            assertTrue(matches.get(i - 1).getSimilarity() >= matches.get(i).getSimilarity());
+        }
+        assertEquals(1, index.search("Ion Popescu", 1).size());
+    }
+
+    @Test
+    void equallySimilarNamesRankTheMostRecentPatientFirst() {
+        index.onAppointmentEvent(created(7L, "Ana Dan", NINE.plusDays(10)));
+        index.onAppointmentEvent(created(8L, "Ana Dam", NINE.plusDays(20)));
+
+        assertEquals(List.of("Ana Dam", "Ana Dan"), names(index.search("Ana Da", 2)));
+    }
+
+    @Test
+    void namesShorterThanThreeCharacters() {
+        assertEquals(List.of("Li"), names(index.search("Li", 5)));
+        assertEquals(List.of(), index.search("Lu", 5));
+        assertEquals(List.of(), index.search("", 5));
+        assertEquals(List.of(), index.search(" - ", 5));
+        assertEquals(List.of(), index.search(null, 5));
+    }
+
+    @Test
+    void repeatVisitsAreOnePatientWithTheirLatestAppointments() {
+        PatientMatch patient = index.search("Ion Popescu", 1).get(0);
+
+        assertEquals(2, patient.getAppointmentCount());
+        assertEquals(List.of(6L, 1L), patient.getLatestAppointments().stream().map(PatientMatch.AppointmentRef::getId).toList());
+    }
+
+    @Test
+    void committedBookingsAreSearchableAtOnce() {
+        assertEquals(List.of(), index.search("Radu Constantinescu", 5));
+
+        index.onAppointmentEvent(created(10L, "Radu Constantinescu", NINE.plusDays(30)));
+        index.onAppointmentEvent(created(11L, "radu  constantinescu", NINE.plusDays(31)));
+        // Status changes carry no name and are not bookings
+        AppointmentEvent status = created(12L, "Radu Constantinescu", NINE.plusDays(32));
+        status.setType(AppointmentEvent.STATUS);
+        index.onAppointmentEvent(status);
+
+        PatientMatch match = index.search("Radu Constantinesku", 5).get(0);
+        // Same normalized name, so one patient shown with the spelling of the latest booking
+        assertEquals("radu  constantinescu", match.getPatientName());
+        assertEquals(2, match.getAppointmentCount());
+        assertEquals(List.of(11L, 10L), match.getLatestAppointments().stream().map(PatientMatch.AppointmentRef::getId).toList());
+    }
+
+    private static AppointmentEvent created(Long id, String patientName, LocalDateTime time) {
+        AppointmentEvent event = new AppointmentEvent();
+        event.setType(AppointmentEvent.CREATED);
+        event.setAppointmentId(id);
+        event.setPatientName(patientName);
+        event.setAppointmentTime(time);
+        return event;
+    }
+
+    private static List<String> names(List<PatientMatch> matches) {
+        return matches.stream().map(PatientMatch::getPatientName).toList();
+    }
+}
@@ -0,0 +1,226 @@
+package com.medcare.service;
+
+import com.medcare.dto.AppointmentRequest;
+import com.medcare.dto.AppointmentSeriesRequest;
+import com.medcare.dto.AppointmentSeriesResponse;
+import com.medcare.dto.BulkStatusRequest;
+import com.medcare.dto.CalendarDay;
+import com.medcare.dto.CalendarResponse;
+import com.medcare.dto.RecurrenceRule;
+import com.medcare.model.Appointment;
+import com.medcare.model.Doctor;
+import com.medcare.model.MedicalService;
+import com.medcare.repository.AppointmentRepository;
+import com.medcare.repository.DoctorRepository;
+import com.medcare.repository.MedicalServiceRepository;
+import com.medcare.repository.UserRepository;
+import com.medcare.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReceptionistServiceTest {
+
+    private AppointmentRepository appointmentRepository;
+    private AppointmentLedger appointmentLedger;
+    private CatalogCache catalogCache;
+    private StatusWriteBehindQueue statusWriteBehindQueue;
+    private ReceptionistService receptionistService;
+
+    @BeforeEach
+    void setUp() {
+        appointmentRepository = mock(AppointmentRepository.class);
+        appointmentLedger = mock(AppointmentLedger.class);
+        catalogCache = mock(CatalogCache.class);
+        statusWriteBehindQueue = mock(StatusWriteBehindQueue.class);
+        receptionistService = new ReceptionistService(appointmentRepository, mock(DoctorRepository.class),
+                mock(MedicalServiceRepository.class), mock(UserRepository.class), appointmentLedger,
+                catalogCache, new BookingCoordinator(), mock(BookingGuard.class),
+                statusWriteBehindQueue, mock(CollectionVersions.class), mock(AppointmentChangeVersions.class),
+                mock(ApplicationEventPublisher.class));
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void fastPathOverlapProbeStartsOneLongestBookingBeforeTheSlot() {
+        stubCatalog();
+        when(catalogCache.longestServiceDuration()).thenReturn(Duration.ofMinutes(45));
+        when(appointmentLedger.longest(1L)).thenReturn(Duration.ofMinutes(90));
+        when(appointmentRepository.insertIfDoctorAvailable(any(), any(), any(), any(), any(), any(), any(),
+                anyLong(), any())).thenReturn(5L);
+        ReflectionTestUtils.setField(receptionistService, "fastPath", true);
+        authenticate();
+
+        AppointmentRequest request = new AppointmentRequest();
+        request.setPatientName("Ana Pop");
+        request.setDoctorId(1L);
+        request.setServiceId(2L);
+        request.setAppointmentTime(LocalDateTime.of(2026, 3, 2, 10, 0));
+        receptionistService.createAppointment(request);
+
+        verify(appointmentRepository).insertIfDoctorAvailable(eq("Ana Pop"), eq(1L), eq(2L),
+                eq(LocalDateTime.of(2026, 3, 2, 10, 0)), eq(LocalDateTime.of(2026, 3, 2, 10, 30)), eq("NEW"),
+                eq(3L), anyLong(), eq(LocalDateTime.of(2026, 3, 2, 8, 30)));
+    }
+
+    private void stubCatalog() {
+        Doctor doctor = new Doctor(1L, "Dr. Pop", "General", LocalTime.of(8, 0), LocalTime.of(20, 0), true);
+        MedicalService service = new MedicalService(2L, "Consultation", BigDecimal.TEN, Duration.ofMinutes(30), true);
+        when(catalogCache.findDoctor(1L)).thenReturn(Optional.of(doctor));
+        when(catalogCache.findService(2L)).thenReturn(Optional.of(service));
+    }
+
+    private static void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new UserPrincipal(3L, "Reception", "reception", "", List.of()), null, List.of()));
+    }
+
+    @Test
+    void rejectedBulkUpdateDoesNotFlushQueuedStatuses() {
+        BulkStatusRequest tooMany = new BulkStatusRequest();
+        tooMany.setStatus(Appointment.AppointmentStatus.COMPLETED);
+        tooMany.setIds(LongStream.rangeClosed(1, ReceptionistService.MAX_BULK_IDS + 1).boxed().toList());
+        BulkStatusRequest noSelection = new BulkStatusRequest();
+        noSelection.setStatus(Appointment.AppointmentStatus.COMPLETED);
+
+        assertThrows(RuntimeException.class, () -> receptionistService.updateAppointmentStatuses(tooMany));
+        assertThrows(RuntimeException.class, () -> receptionistService.updateAppointmentStatuses(noSelection));
+
+        verify(statusWriteBehindQueue, never()).flush();
+    }
+
+    @Test
+    void bulkUpdateFlushesQueuedStatusesFirst() {
+        BulkStatusRequest request = new BulkStatusRequest();
+        request.setStatus(Appointment.AppointmentStatus.COMPLETED);
+        request.setDay(LocalDate.of(2026, 3, 2));
+
+        receptionistService.updateAppointmentStatuses(request);
+
+        var order = inOrder(statusWriteBehindQueue, appointmentRepository);
+        order.verify(statusWriteBehindQueue).flush();
+        order.verify(appointmentRepository).updateStatusByFilter(any(), any(), any(), any(), any(), any(), anyLong());
+    }
+
+    @Test
+    void bulkUpdateByIdsUsesTheAllowedPredecessors() {
+        BulkStatusRequest request = new BulkStatusRequest();
+        request.setStatus(Appointment.AppointmentStatus.IN_PROGRESS);
+        request.setIds(List.of(1L, 2L));
+
+        receptionistService.updateAppointmentStatuses(request);
+
+        verify(appointmentRepository).updateStatusByIds(List.of(1L, 2L), Appointment.AppointmentStatus.IN_PROGRESS,
+                List.of(Appointment.AppointmentStatus.NEW), 0L);
+    }
+
+    @Test
+    void seriesUntilTooFarAwayIsRejectedInsteadOfTruncated() {
+        stubCatalog();
+        authenticate();
+
+        AppointmentSeriesResponse fits = receptionistService.createAppointmentSeries(dailySeriesUntil(
+                LocalDate.of(2026, 3, 1).plusDays(ReceptionistService.MAX_SERIES_SIZE)));
+        assertTrue(fits.isCreated());
+        assertEquals(ReceptionistService.MAX_SERIES_SIZE, fits.getOccurrences().size());
+
+        AppointmentSeriesRequest tooLong = dailySeriesUntil(
+                LocalDate.of(2026, 3, 1).plusDays(ReceptionistService.MAX_SERIES_SIZE + 1));
+        assertThrows(RuntimeException.class, () -> receptionistService.createAppointmentSeries(tooLong));
+        verify(appointmentRepository, times(ReceptionistService.MAX_SERIES_SIZE)).save(any());
+    }
+
+    @Test
+    void calendarCountsAndEntriesShowTheSameQueuedStatus() {
+        LocalDateTime nine = LocalDateTime.of(2026, 3, 2, 9, 0);
+        when(statusWriteBehindQueue.pendingStatuses()).thenReturn(Map.of(7L, Appointment.AppointmentStatus.COMPLETED));
+        when(appointmentRepository.countByDayAndStatus(any(), any(), any())).thenReturn(List.<Object[]>of(
+                new Object[] { nine.toLocalDate(), Appointment.AppointmentStatus.NEW, 1L },
+                new Object[] { nine.toLocalDate(), Appointment.AppointmentStatus.IN_PROGRESS, 1L }));
+        when(appointmentRepository.findStatusesByIds(any(), any(), any(), any())).thenReturn(List.<Object[]>of(
+                new Object[] { 7L, nine, Appointment.AppointmentStatus.NEW }));
+        when(appointmentRepository.findFirstPerDay(any(), any(), any(), anyInt())).thenReturn(List.<Object[]>of(
+                new Object[] { 7L, Timestamp.valueOf(nine), "Ana Pop", "NEW", "Dr. Ionescu", "Consultation" },
+                new Object[] { 8L, Timestamp.valueOf(nine.plusHours(1)), "Ion Pop", "IN_PROGRESS", "Dr. Ionescu", "Consultation" }));
+
+        CalendarResponse calendar = receptionistService.getCalendar(YearMonth.of(2026, 3), null, null);
+
+        CalendarDay day = calendar.getDays().get(0);
+        assertEquals(2, day.getTotal());
+        assertEquals(Map.of(Appointment.AppointmentStatus.IN_PROGRESS, 1L,
+                Appointment.AppointmentStatus.COMPLETED, 1L), day.getCounts());
+        assertEquals(Appointment.AppointmentStatus.COMPLETED, day.getFirst().get(0).getStatus());
+    }
+
+    @Test
+    void cursorRoundTripsTimeAndId() {
+        LocalDateTime time = LocalDateTime.of(2026, 3, 2, 9, 0, 0, 123_000_000);
+        String cursor = ReceptionistService.encodeCursor(time, 42L);
+
+        Object[] position = ReceptionistService.decodeCursor(cursor);
+        assertEquals(time, position[0]);
+        assertEquals(42L, position[1]);
+        // URL-safe as is, so clients can pass it back in a query string
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+        assertEquals(LocalDateTime.of(2026, 3, 2, 9, 0),
+                ReceptionistService.decodeCursor(ReceptionistService.encodeCursor(LocalDateTime.of(2026, 3, 2, 9, 0), 1L))[0]);
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        String noId = Base64.getUrlEncoder().encodeToString("2026-03-02T09:00".getBytes());
+        String badTime = Base64.getUrlEncoder().encodeToString("yesterday|7".getBytes());
+        for (String cursor : List.of("not base64!", noId, badTime)) {
+            RuntimeException e = assertThrows(RuntimeException.class, () -> ReceptionistService.decodeCursor(cursor));
+            assertEquals("Invalid cursor", e.getMessage());
+        }
+    }
+
+    private AppointmentSeriesRequest dailySeriesUntil(LocalDate until) {
+        RecurrenceRule rule = new RecurrenceRule();
+        rule.setFrequency(RecurrenceRule.Frequency.DAILY);
+        rule.setUntil(until);
+        AppointmentSeriesRequest request = new AppointmentSeriesRequest();
+        request.setPatientName("Ana Pop");
+        request.setDoctorId(1L);
+        request.setServiceId(2L);
+        request.setFirstAppointmentTime(LocalDateTime.of(2026, 3, 2, 10, 0));
+        request.setRecurrence(rule);
+        return request;
+    }
+}
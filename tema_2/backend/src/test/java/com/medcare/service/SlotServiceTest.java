@@ -0,0 +1,224 @@
+package com.medcare.service;
+
+import com.medcare.dto.AvailabilityResponse;
+import com.medcare.dto.DoctorSlot;
+import com.medcare.dto.TimeSlot;
+import com.medcare.model.Appointment;
+import com.medcare.model.Doctor;
+import com.medcare.model.MedicalService;
+import com.medcare.repository.AppointmentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SlotServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+
+    private final Doctor doctor = doctor(1L, "Dr. Slot");
+    private AppointmentLedger appointmentLedger;
+    private CatalogCache catalogCache;
+    private ThreadPoolTaskExecutor executor;
+    private SlotService slotService;
+    private long nextId;
+
+    @BeforeEach
+    void setUp() {
+        AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+        when(appointmentRepository.findLedgerEntries()).thenReturn(List.of());
+        appointmentLedger = new AppointmentLedger(appointmentRepository);
+        appointmentLedger.load();
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.initialize();
+        catalogCache = mock(CatalogCache.class);
+        when(catalogCache.findService(1L)).thenReturn(Optional.of(service(Duration.ofMinutes(30))));
+        slotService = new SlotService(appointmentLedger, catalogCache, executor);
+        ReflectionTestUtils.setField(slotService, "searchBudgetMs", 5_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void emptyDayIsOneInterval() {
+        assertEquals(List.of(slot("09:00", "17:00")), slotService.freeIntervals(doctor, DAY));
+    }
+
+    @Test
+    void adjacentAndOverlappingBookingsLeaveNoGapBetweenThem() {
+        book(doctor, "10:00", "11:00");
+        book(doctor, "11:00", "12:00");
+        book(doctor, "11:30", "12:30");
+        book(doctor, "14:00", "15:00");
+
+        assertEquals(List.of(slot("09:00", "10:00"), slot("12:30", "14:00"), slot("15:00", "17:00")),
+                slotService.freeIntervals(doctor, DAY));
+    }
+
+    @Test
+    void bookingsStraddlingTheWorkingDayAreClippedToIt() {
+        book(doctor, "08:30", "09:30");
+        book(doctor, "16:30", "17:30");
+
+        assertEquals(List.of(slot("09:30", "16:30")), slotService.freeIntervals(doctor, DAY));
+    }
+
+    @Test
+    void bookingCoveringTheWholeDayLeavesNothing() {
+        book(doctor, "08:00", "18:00");
+
+        assertEquals(List.of(), slotService.freeIntervals(doctor, DAY));
+        assertEquals(List.of(), slotService.findFreeSlots(doctor, service(Duration.ofMinutes(15)),
+                at("00:00"), at("23:59"), 10));
+    }
+
+    @Test
+    void newBookingReplacesTheCachedIntervals() {
+        assertEquals(List.of(slot("09:00", "17:00")), slotService.freeIntervals(doctor, DAY));
+        book(doctor, "12:00", "13:00");
+
+        assertEquals(List.of(slot("09:00", "12:00"), slot("13:00", "17:00")), slotService.freeIntervals(doctor, DAY));
+    }
+
+    @Test
+    void slotsAreLaidOutBackToBackInsideEachGap() {
+        book(doctor, "10:00", "11:15");
+
+        List<TimeSlot> slots = slotService.findFreeSlots(doctor, service(Duration.ofMinutes(30)), at("09:00"), at("12:30"), 10);
+
+        assertEquals(List.of(slot("09:00", "09:30"), slot("09:30", "10:00"),
+                slot("11:15", "11:45"), slot("11:45", "12:15")), slots);
+    }
+
+    @Test
+    void serviceLongerThanEveryGapSkipsThemAll() {
+        book(doctor, "09:45", "10:00");
+        book(doctor, "10:45", "11:00");
+
+        // 45 minute gaps before 11:00, then the free afternoon
+        List<TimeSlot> slots = slotService.findFreeSlots(doctor, service(Duration.ofHours(1)), at("09:00"), at("12:00"), 10);
+        assertEquals(List.of(slot("11:00", "12:00")), slots);
+
+        assertEquals(List.of(), slotService.findFreeSlots(doctor, service(Duration.ofHours(1)), at("09:00"), at("11:00"), 10));
+    }
+
+    @Test
+    void searchStartsInsideAGapAndStopsAtTheLimitOrWindow() {
+        List<TimeSlot> fromMidGap = slotService.findFreeSlots(doctor, service(Duration.ofMinutes(20)), at("09:10"), at("17:00"), 3);
+        assertEquals(List.of(slot("09:10", "09:30"), slot("09:30", "09:50"), slot("09:50", "10:10")), fromMidGap);
+
+        List<TimeSlot> nextDay = slotService.findFreeSlots(doctor, service(Duration.ofHours(4)),
+                at("16:00"), DAY.plusDays(1).atTime(13, 0), 10);
+        assertEquals(List.of(new TimeSlot(DAY.plusDays(1).atTime(9, 0), DAY.plusDays(1).atTime(13, 0))), nextDay);
+        assertTrue(slotService.findFreeSlots(doctor, service(Duration.ofHours(4)), at("16:00"), at("17:00"), 10).isEmpty());
+    }
+
+    @Test
+    void earliestSlotsAcrossASpecializationAreTheGlobalMinimum() {
+        Doctor late = doctor(1L, "Dr. Late");
+        Doctor middle = doctor(2L, "Dr. Middle");
+        Doctor early = doctor(3L, "Dr. Early");
+        book(late, "09:00", "11:00");
+        book(middle, "09:00", "10:00");
+        book(early, "09:00", "09:30");
+        specialists(late, middle, early);
+
+        AvailabilityResponse response = earliest(3);
+
+        assertTrue(response.isComplete());
+        assertEquals(List.of(
+                        new DoctorSlot(3L, "Dr. Early", at("09:30"), at("10:00")),
+                        new DoctorSlot(2L, "Dr. Middle", at("10:00"), at("10:30")),
+                        new DoctorSlot(3L, "Dr. Early", at("10:00"), at("10:30"))),
+                response.getSlots());
+    }
+
+    @Test
+    void equalStartsAreOrderedByDoctor() {
+        Doctor second = doctor(2L, "Dr. Second");
+        Doctor first = doctor(1L, "Dr. First");
+        specialists(second, first);
+
+        assertEquals(List.of(
+                        new DoctorSlot(1L, "Dr. First", at("09:00"), at("09:30")),
+                        new DoctorSlot(2L, "Dr. Second", at("09:00"), at("09:30"))),
+                earliest(2).getSlots());
+    }
+
+    @Test
+    void noSlotAnywhereIsAnEmptyCompleteAnswer() {
+        Doctor busy = doctor(1L, "Dr. Busy");
+        Doctor busier = doctor(2L, "Dr. Busier");
+        book(busy, "09:00", "17:00");
+        book(busier, "08:00", "18:00");
+        specialists(busy, busier);
+
+        AvailabilityResponse response = earliest(5);
+        assertTrue(response.isComplete());
+        assertEquals(List.of(), response.getSlots());
+
+        when(catalogCache.findActiveDoctorsBySpecialization("Dermatology")).thenReturn(List.of());
+        assertEquals(List.of(), slotService.findEarliestBySpecialization("Dermatology", 1L,
+                at("09:00"), at("17:00"), 5).getSlots());
+    }
+
+    private void specialists(Doctor... doctors) {
+        when(catalogCache.findActiveDoctorsBySpecialization("Cardiology")).thenReturn(List.of(doctors));
+    }
+
+    private AvailabilityResponse earliest(int limit) {
+        return slotService.findEarliestBySpecialization("Cardiology", 1L, at("09:00"), at("17:00"), limit);
+    }
+
+    private void book(Doctor bookedDoctor, String start, String end) {
+        Appointment appointment = new Appointment();
+        appointment.setId(++nextId);
+        appointment.setDoctor(bookedDoctor);
+        appointment.setAppointmentTime(at(start));
+        appointment.setEndTime(at(end));
+        appointmentLedger.record(appointment);
+    }
+
+    private static Doctor doctor(Long id, String name) {
+        Doctor doctor = new Doctor();
+        doctor.setId(id);
+        doctor.setName(name);
+        doctor.setSpecialization("Cardiology");
+        doctor.setStartTime(LocalTime.of(9, 0));
+        doctor.setEndTime(LocalTime.of(17, 0));
+        return doctor;
+    }
+
+    private static MedicalService service(Duration duration) {
+        MedicalService service = new MedicalService();
+        service.setId(1L);
+        service.setName("Consultation");
+        service.setDuration(duration);
+        return service;
+    }
+
+    private static LocalDateTime at(String time) {
+        return DAY.atTime(LocalTime.parse(time));
+    }
+
+    private static TimeSlot slot(String start, String end) {
+        return new TimeSlot(at(start), at(end));
+    }
+}
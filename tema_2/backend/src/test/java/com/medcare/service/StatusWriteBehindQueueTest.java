@@ -0,0 +1,79 @@
+package com.medcare.service;
+
+import com.medcare.model.Appointment;
+import com.medcare.repository.AppointmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StatusWriteBehindQueueTest {
+
+    private AppointmentRepository appointmentRepository;
+    private PlatformTransactionManager transactionManager;
+    private StatusWriteBehindQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        appointmentRepository = mock(AppointmentRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        queue = new StatusWriteBehindQueue(appointmentRepository, transactionManager,
+                mock(AppointmentChangeVersions.class));
+        ReflectionTestUtils.setField(queue, "maxPending", 500);
+    }
+
+    @Test
+    void flushCommitsInItsOwnTransaction() {
+        queue.submit(1L, Appointment.AppointmentStatus.COMPLETED);
+
+        queue.flush();
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, definition.getValue().getPropagationBehavior());
+        verify(appointmentRepository).updateStatusByIds(eq(List.of(1L)), eq(Appointment.AppointmentStatus.COMPLETED),
+                any(), anyLong());
+        assertEquals(Optional.empty(), queue.pendingStatus(1L));
+    }
+
+    @Test
+    void failedCommitKeepsChangesPending() {
+        queue.submit(1L, Appointment.AppointmentStatus.COMPLETED);
+        doThrow(new TransactionSystemException("commit failed")).when(transactionManager).commit(any());
+
+        queue.flush();
+
+        assertEquals(Optional.of(Appointment.AppointmentStatus.COMPLETED), queue.pendingStatus(1L));
+        assertEquals(1L, queue.metrics().get("failedFlushes"));
+    }
+
+    @Test
+    void changeSubmittedDuringFlushStaysQueued() {
+        queue.submit(1L, Appointment.AppointmentStatus.IN_PROGRESS);
+        when(appointmentRepository.updateStatusByIds(any(), any(), any(), anyLong())).thenAnswer(invocation -> {
+            queue.submit(1L, Appointment.AppointmentStatus.COMPLETED);
+            return 1;
+        });
+
+        queue.flush();
+
+        assertEquals(Optional.of(Appointment.AppointmentStatus.COMPLETED), queue.pendingStatus(1L));
+    }
+}
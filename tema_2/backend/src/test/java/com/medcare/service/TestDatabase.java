@@ -0,0 +1,54 @@
+package com.medcare.service;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Databases for tests that start the application. H2 covers the JPA paths; the native queries (the
+// conditional INSERT, the calendar's ROW_NUMBER) need PostgreSQL, which is started embedded once per
+// JVM. -Dtest.postgres.url (with .username and .password) points the tests at an existing server instead.
+record TestDatabase(String url, String username, String password, boolean postgres) {
+
+    private static EmbeddedPostgres embedded;
+
+    static TestDatabase h2(String name) {
+        return new TestDatabase("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000", "sa", "", false);
+    }
+
+    // A fresh database per name on the embedded server, so test classes never see each other's rows
+    static synchronized TestDatabase postgres(String name) {
+        String url = System.getProperty("test.postgres.url");
+        if (url != null) {
+            return new TestDatabase(url, System.getProperty("test.postgres.username", "postgres"),
+                    System.getProperty("test.postgres.password", ""), true);
+        }
+        try {
+            if (embedded == null) {
+                embedded = EmbeddedPostgres.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(TestDatabase::stopEmbedded));
+            }
+            try (Connection connection = embedded.getPostgresDatabase().getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("DROP DATABASE IF EXISTS " + name);
+                statement.execute("CREATE DATABASE " + name);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return new TestDatabase(embedded.getJdbcUrl("postgres", name), "postgres", "", true);
+    }
+
+    private static void stopEmbedded() {
+        try {
+            embedded.close();
+        } catch (IOException ignored) {
+            // The JVM is exiting either way
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.medcare.service;
+
+import com.medcare.ClinicAppointmentSystemApplication;
+import com.medcare.model.Doctor;
+import com.medcare.model.MedicalService;
+import com.medcare.model.User;
+import com.medcare.repository.DoctorRepository;
+import com.medcare.repository.MedicalServiceRepository;
+import com.medcare.repository.UserRepository;
+import com.medcare.security.UserPrincipal;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+// One backend instance started in-process against a test database, with helpers to seed the catalog
+// and to act as a receptionist. Several nodes on one database stand in for a cluster.
+final class TestNode implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+
+    private TestNode(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    // ddl is Hibernate's ddl-auto: "create-drop" for the first node on a database, "none" for the others.
+    // properties are "key=value" pairs that override application.properties.
+    static TestNode start(TestDatabase database, String ddl, String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + database.url(),
+                "--spring.datasource.username=" + database.username(),
+                "--spring.datasource.password=" + database.password(),
+                "--spring.jpa.hibernate.ddl-auto=" + ddl,
+                "--spring.jpa.properties.hibernate.generate_statistics=true",
+                "--logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn"));
+        if (!database.postgres()) {
+            args.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect");
+        }
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        // Command line arguments, so they take precedence over application.properties
+        return new TestNode(new SpringApplicationBuilder(ClinicAppointmentSystemApplication.class)
+                .run(args.toArray(String[]::new)));
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    Statistics statistics() {
+        return bean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // Works 08:00 to 20:00
+    Long doctor(String name) {
+        return doctor(name, "General");
+    }
+
+    Long doctor(String name, String specialization) {
+        Doctor doctor = new Doctor();
+        doctor.setName(name);
+        doctor.setSpecialization(specialization);
+        doctor.setStartTime(LocalTime.of(8, 0));
+        doctor.setEndTime(LocalTime.of(20, 0));
+        return bean(DoctorRepository.class).save(doctor).getId();
+    }
+
+    Long service(String name, Duration duration) {
+        MedicalService service = new MedicalService();
+        service.setName(name);
+        service.setPrice(BigDecimal.TEN);
+        service.setDuration(duration);
+        return bean(MedicalServiceRepository.class).save(service).getId();
+    }
+
+    UserPrincipal receptionist(String username) {
+        User receptionist = new User();
+        receptionist.setUsername(username);
+        receptionist.setPassword("-");
+        receptionist.setFullName("Receptionist " + username);
+        receptionist.setRole(User.UserRole.RECEPTIONIST);
+        User saved = bean(UserRepository.class).save(receptionist);
+        return new UserPrincipal(saved.getId(), saved.getFullName(), saved.getUsername(), "", List.of());
+    }
+
+    // Runs the action with the principal authenticated on the calling thread
+    static <T> T as(UserPrincipal principal, Supplier<T> action) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+        try {
+            return action.get();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,58 @@
+package com.medcare.service;
+
+import com.medcare.model.User;
+import com.medcare.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserServiceTest {
+
+    private UserRepository userRepository;
+    private CollectionVersions collectionVersions;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(any())).thenReturn("encoded");
+        collectionVersions = new CollectionVersions();
+        userService = new UserService(userRepository, passwordEncoder, collectionVersions);
+    }
+
+    @Test
+    void creatingAUserChangesTheUsersTag() {
+        String before = collectionVersions.etag(CollectionVersions.Kind.USERS);
+
+        userService.createUser(user("new-receptionist"));
+
+        assertNotEquals(before, collectionVersions.etag(CollectionVersions.Kind.USERS));
+    }
+
+    @Test
+    void rejectedUserKeepsTheUsersTag() {
+        when(userRepository.existsByUsername("taken")).thenReturn(true);
+        String before = collectionVersions.etag(CollectionVersions.Kind.USERS);
+
+        assertThrows(RuntimeException.class, () -> userService.createUser(user("taken")));
+
+        assertEquals(before, collectionVersions.etag(CollectionVersions.Kind.USERS));
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("secret");
+        user.setFullName("Receptionist");
+        user.setRole(User.UserRole.RECEPTIONIST);
+        return user;
+    }
+}
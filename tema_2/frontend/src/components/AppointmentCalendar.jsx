@@ -1,13 +1,22 @@
 // src/components/AppointmentCalendar.jsx
 import React, { useState, useEffect } from 'react';
-import { Card, Row, Col, Button } from 'react-bootstrap';
+import { Card, Row, Col, Button, Form } from 'react-bootstrap';
+import { Link } from 'react-router-dom';
 import StatusBadge from './StatusBadge';
+import ReceptionistService from '../services/receptionist.service';
+import { toDateKey } from '../utils/dateUtils';
 
-const AppointmentCalendar = ({ appointments, onViewDetails }) => {
+// Entries listed per day; the rest of a busy day is on the appointments page
+const ENTRIES_PER_DAY = 5;
+
+// Loads the visible month from the calendar endpoint: per-day counts and each day's first entries.
+// Pass doctors to offer a doctor filter; bump refreshTrigger to reload after a change.
+const AppointmentCalendar = ({ doctors = [], onViewDetails, refreshTrigger = 0 }) => {
   const [currentDate, setCurrentDate] = useState(new Date());
   const [calendarDates, setCalendarDates] = useState([]);
   const [selectedDate, setSelectedDate] = useState(null);
-  const [dailyAppointments, setDailyAppointments] = useState([]);
+  const [doctorId, setDoctorId] = useState('');
+  const [days, setDays] = useState({});
 
   // Generate calendar dates for the current month
   useEffect(() => {
@@ -50,29 +59,21 @@ const AppointmentCalendar = ({ appointments, onViewDetails }) => {
     generateCalendarDates();
   }, [currentDate]);
 
-  // Filter appointments for the selected date
+  // Fetch the month's days, keyed by date
   useEffect(() => {
-    if (!selectedDate || !appointments) {
-      setDailyAppointments([]);
-      return;
-    }
-    
-    const filteredAppointments = appointments.filter(appointment => {
-      const appointmentDate = new Date(appointment.appointmentTime);
-      return (
-        appointmentDate.getFullYear() === selectedDate.getFullYear() &&
-        appointmentDate.getMonth() === selectedDate.getMonth() &&
-        appointmentDate.getDate() === selectedDate.getDate()
-      );
-    });
-    
-    // Sort by time
-    filteredAppointments.sort((a, b) => {
-      return new Date(a.appointmentTime) - new Date(b.appointmentTime);
-    });
-    
-    setDailyAppointments(filteredAppointments);
-  }, [selectedDate, appointments]);
+    let cancelled = false;
+    const month = toDateKey(currentDate).slice(0, 7);
+    ReceptionistService.getCalendar(month, doctorId || null, ENTRIES_PER_DAY)
+      .then(calendar => {
+        if (!cancelled) {
+          setDays(Object.fromEntries(calendar.days.map(day => [day.date, day])));
+        }
+      })
+      .catch(error => console.error('Error fetching calendar:', error));
+    return () => {
+      cancelled = true;
+    };
+  }, [currentDate, doctorId, refreshTrigger]);
 
   // Navigate to previous month
   const goToPreviousMonth = () => {
@@ -92,34 +93,17 @@ const AppointmentCalendar = ({ appointments, onViewDetails }) => {
     return `${hours}:${minutes}`;
   };
 
-  // Check if a date has appointments
-  const hasAppointments = (date) => {
-    if (!date || !appointments) return false;
-    
-    return appointments.some(appointment => {
-      const appointmentDate = new Date(appointment.appointmentTime);
-      return (
-        appointmentDate.getFullYear() === date.getFullYear() &&
-        appointmentDate.getMonth() === date.getMonth() &&
-        appointmentDate.getDate() === date.getDate()
-      );
-    });
-  };
-
-  // Get appointment count for a date
+  // Appointment count for a date
   const getAppointmentCount = (date) => {
-    if (!date || !appointments) return 0;
-    
-    return appointments.filter(appointment => {
-      const appointmentDate = new Date(appointment.appointmentTime);
-      return (
-        appointmentDate.getFullYear() === date.getFullYear() &&
-        appointmentDate.getMonth() === date.getMonth() &&
-        appointmentDate.getDate() === date.getDate()
-      );
-    }).length;
+    if (!date) return 0;
+    return days[toDateKey(date)]?.total || 0;
   };
 
+  const hasAppointments = (date) => getAppointmentCount(date) > 0;
+
+  const selectedDay = selectedDate ? days[toDateKey(selectedDate)] : null;
+  const dailyAppointments = selectedDay ? selectedDay.first : [];
+
   // Days of the week header
   const daysOfWeek = ['Sun', 'Mon', 'Tue', 'Wed', 'Thu', 'Fri', 'Sat'];
 
@@ -132,6 +116,19 @@ const AppointmentCalendar = ({ appointments, onViewDetails }) => {
           </Col>
           <Col xs="auto">
             <div className="d-flex align-items-center">
+              {doctors.length > 0 && (
+                <Form.Select
+                  size="sm"
+                  className="me-3"
+                  value={doctorId}
+                  onChange={(e) => setDoctorId(e.target.value)}
+                >
+                  <option value="">All doctors</option>
+                  {doctors.map(doctor => (
+                    <option key={doctor.id} value={doctor.id}>{doctor.name}</option>
+                  ))}
+                </Form.Select>
+              )}
               <Button variant="outline-secondary" size="sm" onClick={goToPreviousMonth}>
                 <i className="bi bi-chevron-left"></i>
               </Button>
@@ -205,10 +202,17 @@ const AppointmentCalendar = ({ appointments, onViewDetails }) => {
                       <StatusBadge status={appointment.status} />
                     </div>
                     <div className="text-muted small mt-1">
-                      {appointment.doctor.name} | {appointment.service.name}
+                      {appointment.doctorName} | {appointment.serviceName}
                     </div>
                   </div>
                 ))}
+                {selectedDay.total > dailyAppointments.length && (
+                  <div className="text-center small">
+                    <Link to="/receptionist/appointments">
+                      {selectedDay.total - dailyAppointments.length} more on the appointments page
+                    </Link>
+                  </div>
+                )}
               </div>
             ) : (
               <div className="text-center py-4 text-muted">
@@ -1,9 +1,24 @@
 // src/pages/receptionist/Appointments.jsx
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useCallback } from 'react';
 import { Container, Table, Button, Modal, Form, Alert, Badge, Row, Col, Card, Tab, Tabs, InputGroup } from 'react-bootstrap';
 import { useLocation, useNavigate } from 'react-router-dom';
+import { AppointmentFilters } from '../../components';
 import ReceptionistService from '../../services/receptionist.service';
 import { formatDateTime, parseDuration, isTimeSlotAvailable } from '../../utils/dateUtils';
+import { createIdempotencyKey } from '../../utils/idempotency';
+
+// Maps the filter form and the active tab onto the query parameters of the appointments endpoint
+const toQuery = (filters, activeTab) => {
+  const query = {};
+  if (filters.patientName) query.patient = filters.patientName;
+  if (filters.doctorId) query.doctorId = filters.doctorId;
+  if (filters.serviceId) query.serviceId = filters.serviceId;
+  const status = activeTab !== 'all' ? activeTab : filters.status;
+  if (status) query.status = status;
+  if (filters.startDate) query.from = `${filters.startDate}T00:00:00`;
+  if (filters.endDate) query.to = `${filters.endDate}T23:59:59`;
+  return query;
+};
 
 const Appointments = () => {
   const location = useLocation();
@@ -12,6 +27,10 @@ const Appointments = () => {
   const statusFilter = queryParams.get('status');
 
   const [appointments, setAppointments] = useState([]);
+  const [filters, setFilters] = useState({});
+  // Cursor of the page after the loaded ones; null once everything matching is loaded
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [doctors, setDoctors] = useState([]);
   const [services, setServices] = useState([]);
   const [loading, setLoading] = useState(true);
@@ -26,34 +45,64 @@ const Appointments = () => {
   });
   const [selectedDoctor, setSelectedDoctor] = useState(null);
   const [selectedService, setSelectedService] = useState(null);
+  // One key per booking: kept across resubmits of the same form, replaced when the form changes
+  const [idempotencyKey, setIdempotencyKey] = useState(null);
   const [error, setError] = useState('');
   const [success, setSuccess] = useState('');
 
-  // Fetch all data on component mount
+  // Fetch doctors and services on component mount
   useEffect(() => {
     const fetchInitialData = async () => {
       try {
-        setLoading(true);
-        const [appointmentsData, doctorsData, servicesData] = await Promise.all([
-          ReceptionistService.getAllAppointments(),
+        const [doctorsData, servicesData] = await Promise.all([
           ReceptionistService.getAllDoctors(),
           ReceptionistService.getAllServices()
         ]);
         
-        setAppointments(appointmentsData);
         setDoctors(doctorsData);
         setServices(servicesData);
       } catch (err) {
         console.error('Error fetching data:', err);
         setError('Failed to load data. Please refresh the page.');
-      } finally {
-        setLoading(false);
       }
     };
 
     fetchInitialData();
   }, []);
 
+  // Only the first page is fetched; further pages are loaded on demand
+  const fetchFirstPage = useCallback(async () => {
+    try {
+      setLoading(true);
+      const page = await ReceptionistService.getAppointments(toQuery(filters, activeTab));
+      setAppointments(page.items);
+      setNextCursor(page.nextCursor);
+    } catch (err) {
+      console.error('Error fetching appointments:', err);
+      setError('Failed to load appointments. Please refresh the page.');
+    } finally {
+      setLoading(false);
+    }
+  }, [filters, activeTab]);
+
+  useEffect(() => {
+    fetchFirstPage();
+  }, [fetchFirstPage]);
+
+  const handleLoadMore = async () => {
+    try {
+      setLoadingMore(true);
+      const page = await ReceptionistService.getAppointments(toQuery(filters, activeTab), nextCursor);
+      setAppointments(prev => [...prev, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (err) {
+      console.error('Error fetching appointments:', err);
+      setError('Failed to load more appointments');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   // Update selected doctor and service when form changes
   useEffect(() => {
     if (formData.doctorId) {
@@ -94,10 +143,14 @@ const Appointments = () => {
     setError('');
   };
 
-  const handleShow = () => setShowModal(true);
+  const handleShow = () => {
+    setIdempotencyKey(createIdempotencyKey());
+    setShowModal(true);
+  };
 
   const handleChange = (e) => {
     const { name, value } = e.target;
+    setIdempotencyKey(createIdempotencyKey());
     setFormData(prevState => ({
       ...prevState,
       [name]: value
@@ -110,11 +163,18 @@ const Appointments = () => {
     return timePattern.test(timeString);
   };
 
-  const checkTimeSlotAvailability = () => {
+  // Checked against the doctor's appointments of that day only; the server still has the final say
+  const checkTimeSlotAvailability = async () => {
     if (!selectedDoctor || !selectedService || !formData.appointmentDate || !formData.appointmentTime) {
       return false;
     }
 
+    const dayPage = await ReceptionistService.getAppointments({
+      doctorId: selectedDoctor.id,
+      from: `${formData.appointmentDate}T00:00:00`,
+      to: `${formData.appointmentDate}T23:59:59`
+    }, null, 200);
+
     // Create a datetime string from the selected date and time
     const appointmentDateTime = `${formData.appointmentDate}T${formData.appointmentTime}`;
     
@@ -125,7 +185,7 @@ const Appointments = () => {
     return isTimeSlotAvailable(
       appointmentDateTime, 
       selectedDoctor, 
-      appointments, 
+      dayPage.items, 
       serviceDuration
     );
   };
@@ -145,13 +205,13 @@ const Appointments = () => {
       return;
     }
     
-    // Check for appointment overlaps
-    if (!checkTimeSlotAvailability()) {
-      setError("This time slot is not available. The doctor is already booked for another appointment or it's outside their working hours.");
-      return;
-    }
-    
     try {
+      // Check for appointment overlaps
+      if (!(await checkTimeSlotAvailability())) {
+        setError("This time slot is not available. The doctor is already booked for another appointment or it's outside their working hours.");
+        return;
+      }
+      
       // Combine date and time into ISO format
       const appointmentDateTime = `${formData.appointmentDate}T${formData.appointmentTime}`;
       
@@ -162,13 +222,12 @@ const Appointments = () => {
         appointmentTime: appointmentDateTime
       };
       
-      await ReceptionistService.createAppointment(appointmentData);
+      await ReceptionistService.createAppointment(appointmentData, idempotencyKey);
       handleClose();
       setSuccess('Appointment created successfully');
       
       // Refresh appointments
-      const updatedAppointments = await ReceptionistService.getAllAppointments();
-      setAppointments(updatedAppointments);
+      await fetchFirstPage();
       
       // Clear success message after 3 seconds
       setTimeout(() => {
@@ -186,8 +245,7 @@ const Appointments = () => {
       setSuccess(`Appointment status updated to ${status}`);
       
       // Refresh appointments
-      const updatedAppointments = await ReceptionistService.getAllAppointments();
-      setAppointments(updatedAppointments);
+      await fetchFirstPage();
       
       // Clear success message after 3 seconds
       setTimeout(() => {
@@ -199,11 +257,6 @@ const Appointments = () => {
     }
   };
 
-  // Filter appointments based on selected tab
-  const filteredAppointments = activeTab === 'all' 
-    ? appointments 
-    : appointments.filter(app => app.status === activeTab);
-
   // Helper function to render status badge
   const getStatusBadge = (status) => {
     switch(status) {
@@ -257,6 +310,8 @@ const Appointments = () => {
       {error && <Alert variant="danger">{error}</Alert>}
       {success && <Alert variant="success">{success}</Alert>}
       
+      <AppointmentFilters doctors={doctors} services={services} onFilterChange={setFilters} />
+      
       <Card className="mb-4">
         <Card.Body>
           <Tabs
@@ -286,8 +341,8 @@ const Appointments = () => {
                 </tr>
               </thead>
               <tbody>
-                {filteredAppointments.length > 0 ? (
-                  filteredAppointments.map(appointment => (
+                {appointments.length > 0 ? (
+                  appointments.map(appointment => (
                     <tr key={appointment.id}>
                       <td>{appointment.id}</td>
                       <td>{appointment.patientName}</td>
@@ -318,6 +373,14 @@ const Appointments = () => {
               </tbody>
             </Table>
           )}
+          
+          {!loading && nextCursor && (
+            <div className="text-center">
+              <Button variant="outline-secondary" onClick={handleLoadMore} disabled={loadingMore}>
+                {loadingMore ? 'Loading...' : 'Load more'}
+              </Button>
+            </div>
+          )}
         </Card.Body>
       </Card>
       
@@ -1,24 +1,15 @@
 // src/pages/receptionist/Dashboard.jsx
 import React, { useState, useEffect, useCallback } from 'react';
-import { Card, Row, Col, Container, Button, Badge, Table, Form } from 'react-bootstrap';
+import { Card, Row, Col, Container, Button, Badge } from 'react-bootstrap';
 import { Link, useNavigate } from 'react-router-dom';
 import { LoadingSpinner, AppointmentCalendar, StatusBadge, AppointmentDetail } from '../../components';
 import ReceptionistService from '../../services/receptionist.service';
-import { formatDateTime, parseDuration } from '../../utils/dateUtils';
+import { formatDateTime, parseDuration, toDateKey } from '../../utils/dateUtils';
 import { useAuth } from '../../context/AuthContext';
 
 const ReceptionistDashboard = () => {
   // State hooks
-  const [stats, setStats] = useState({
-    totalAppointments: 0,
-    todayAppointments: 0,
-    newAppointments: 0,
-    inProgressAppointments: 0,
-    completedAppointments: 0
-  });
-  const [appointments, setAppointments] = useState([]);
-  const [recentAppointments, setRecentAppointments] = useState([]);
-  const [upcomingAppointments, setUpcomingAppointments] = useState([]);
+  const [dashboard, setDashboard] = useState(null);
   const [selectedAppointmentId, setSelectedAppointmentId] = useState(null);
   const [showAppointmentModal, setShowAppointmentModal] = useState(false);
   const [loading, setLoading] = useState(true);
@@ -28,54 +19,11 @@ const ReceptionistDashboard = () => {
   const navigate = useNavigate();
   const { user } = useAuth();
 
-  // Fetch appointments data
+  // Today's appointments, their counts and the catalogs come from one request
   const fetchData = useCallback(async () => {
     try {
       setLoading(true);
-      
-      // Get all appointments
-      const appointmentsData = await ReceptionistService.getAllAppointments();
-      setAppointments(appointmentsData);
-      
-      // Get today's date in the format YYYY-MM-DD
-      const today = new Date().toISOString().split('T')[0];
-      const now = new Date();
-      
-      // Calculate statistics
-      const totalAppointments = appointmentsData.length;
-      const todayAppointments = appointmentsData.filter(app => 
-        app.appointmentTime.split('T')[0] === today
-      ).length;
-      const newAppointments = appointmentsData.filter(app => app.status === 'NEW').length;
-      const inProgressAppointments = appointmentsData.filter(app => app.status === 'IN_PROGRESS').length;
-      const completedAppointments = appointmentsData.filter(app => app.status === 'COMPLETED').length;
-      
-      setStats({
-        totalAppointments,
-        todayAppointments,
-        newAppointments,
-        inProgressAppointments,
-        completedAppointments
-      });
-      
-      // Get recent appointments (last 5)
-      const sorted = [...appointmentsData].sort((a, b) => 
-        new Date(b.appointmentTime) - new Date(a.appointmentTime)
-      );
-      setRecentAppointments(sorted.slice(0, 5));
-      
-      // Get upcoming appointments (next 24 hours)
-      const nextDay = new Date(now);
-      nextDay.setHours(now.getHours() + 24);
-      
-      const upcoming = appointmentsData.filter(app => {
-        const appTime = new Date(app.appointmentTime);
-        return appTime >= now && appTime <= nextDay && app.status !== 'COMPLETED';
-      }).sort((a, b) => 
-        new Date(a.appointmentTime) - new Date(b.appointmentTime)
-      );
-      
-      setUpcomingAppointments(upcoming.slice(0, 5));
+      setDashboard(await ReceptionistService.getDashboard(toDateKey(new Date())));
     } catch (error) {
       console.error('Error fetching dashboard data:', error);
     } finally {
@@ -135,6 +83,19 @@ const ReceptionistDashboard = () => {
     return `${hours}:${minutes}`;
   };
 
+  // The day's list arrives in time order, with the counts computed by the server from the same rows
+  const todayAppointments = dashboard ? dashboard.appointments : [];
+  const countsByStatus = dashboard ? dashboard.countsByStatus : {};
+  const doctorsBooked = dashboard ? Object.keys(dashboard.countsByDoctor).length : 0;
+  const now = new Date();
+  const recentAppointments = todayAppointments
+    .filter(app => new Date(app.appointmentTime) < now)
+    .slice(-5)
+    .reverse();
+  const upcomingAppointments = todayAppointments
+    .filter(app => new Date(app.appointmentTime) >= now && app.status !== 'COMPLETED')
+    .slice(0, 5);
+
   // Render status counts with icons
   const renderStatusCount = (title, count, icon, color) => (
     <Col md={4} className="mb-3">
@@ -185,7 +146,7 @@ const ReceptionistDashboard = () => {
             <Col lg={8}>
               <Card className="shadow-sm mb-4">
                 <Card.Body>
-                  <h5 className="card-title mb-4">Appointment Statistics</h5>
+                  <h5 className="card-title mb-4">Today's Statistics</h5>
                   <Row>
                     <Col md={6} className="mb-3">
                       <div className="d-flex align-items-center">
@@ -193,8 +154,8 @@ const ReceptionistDashboard = () => {
                           <i className="bi bi-calendar-check text-primary fs-4"></i>
                         </div>
                         <div>
-                          <h6 className="mb-0">Total Appointments</h6>
-                          <h3 className="mt-1 mb-0">{stats.totalAppointments}</h3>
+                          <h6 className="mb-0">Today's Appointments</h6>
+                          <h3 className="mt-1 mb-0">{todayAppointments.length}</h3>
                         </div>
                       </div>
                     </Col>
@@ -202,11 +163,11 @@ const ReceptionistDashboard = () => {
                     <Col md={6} className="mb-3">
                       <div className="d-flex align-items-center">
                         <div className="rounded-circle p-3 bg-info bg-opacity-10 me-3">
-                          <i className="bi bi-calendar-day text-info fs-4"></i>
+                          <i className="bi bi-person-badge text-info fs-4"></i>
                         </div>
                         <div>
-                          <h6 className="mb-0">Today's Appointments</h6>
-                          <h3 className="mt-1 mb-0">{stats.todayAppointments}</h3>
+                          <h6 className="mb-0">Doctors Booked Today</h6>
+                          <h3 className="mt-1 mb-0">{doctorsBooked}</h3>
                         </div>
                       </div>
                     </Col>
@@ -216,21 +177,21 @@ const ReceptionistDashboard = () => {
                   <Row>
                     {renderStatusCount(
                       'New', 
-                      stats.newAppointments, 
+                      countsByStatus.NEW, 
                       'bi-file-earmark-plus', 
                       'info'
                     )}
                     
                     {renderStatusCount(
                       'In Progress', 
-                      stats.inProgressAppointments, 
+                      countsByStatus.IN_PROGRESS, 
                       'bi-hourglass-split', 
                       'warning'
                     )}
                     
                     {renderStatusCount(
                       'Completed', 
-                      stats.completedAppointments, 
+                      countsByStatus.COMPLETED, 
                       'bi-check-circle', 
                       'success'
                     )}
@@ -245,7 +206,7 @@ const ReceptionistDashboard = () => {
                       <div className="d-flex justify-content-between align-items-center mb-3">
                         <h5 className="card-title mb-0">
                           <i className="bi bi-clock-history me-2 text-primary"></i>
-                          Recent Appointments
+                          Earlier Today
                         </h5>
                         <Link to="/receptionist/appointments" className="btn btn-sm btn-link">
                           View All
@@ -275,7 +236,7 @@ const ReceptionistDashboard = () => {
                       ) : (
                         <div className="text-center py-4 text-muted">
                           <i className="bi bi-calendar-x mb-2 fs-2"></i>
-                          <p>No recent appointments</p>
+                          <p>No earlier appointments today</p>
                         </div>
                       )}
                     </Card.Body>
@@ -290,7 +251,7 @@ const ReceptionistDashboard = () => {
                           <i className="bi bi-calendar-check me-2 text-success"></i>
                           Upcoming Appointments
                         </h5>
-                        <Badge bg="primary" pill>Next 24hrs</Badge>
+                        <Badge bg="primary" pill>Rest of today</Badge>
                       </div>
                       
                       {upcomingAppointments.length > 0 ? (
@@ -334,7 +295,7 @@ const ReceptionistDashboard = () => {
                       ) : (
                         <div className="text-center py-4 text-muted">
                           <i className="bi bi-calendar-check mb-2 fs-2"></i>
-                          <p>No upcoming appointments in the next 24 hours</p>
+                          <p>No more appointments today</p>
                         </div>
                       )}
                     </Card.Body>
@@ -375,8 +336,8 @@ const ReceptionistDashboard = () => {
                     >
                       <i className="bi bi-clipboard me-2"></i>
                       View New Appointments
-                      {stats.newAppointments > 0 && (
-                        <Badge bg="info" className="ms-2">{stats.newAppointments}</Badge>
+                      {countsByStatus.NEW > 0 && (
+                        <Badge bg="info" className="ms-2">{countsByStatus.NEW} today</Badge>
                       )}
                     </Button>
                     
@@ -387,8 +348,8 @@ const ReceptionistDashboard = () => {
                     >
                       <i className="bi bi-hourglass-split me-2"></i>
                       View In-Progress
-                      {stats.inProgressAppointments > 0 && (
-                        <Badge bg="warning" className="ms-2">{stats.inProgressAppointments}</Badge>
+                      {countsByStatus.IN_PROGRESS > 0 && (
+                        <Badge bg="warning" className="ms-2">{countsByStatus.IN_PROGRESS} today</Badge>
                       )}
                     </Button>
                   </div>
@@ -402,11 +363,9 @@ const ReceptionistDashboard = () => {
                     Today's Schedule
                   </h5>
                   
-                  {stats.todayAppointments > 0 ? (
+                  {todayAppointments.length > 0 ? (
                     <div className="appointment-timeline">
-                      {appointments
-                        .filter(app => app.appointmentTime.split('T')[0] === new Date().toISOString().split('T')[0])
-                        .sort((a, b) => new Date(a.appointmentTime) - new Date(b.appointmentTime))
+                      {todayAppointments
                         .map(appointment => (
                           <div 
                             key={appointment.id} 
@@ -460,9 +419,10 @@ const ReceptionistDashboard = () => {
                     <i className="bi bi-calendar-month me-2 text-primary"></i>
                     Monthly Calendar View
                   </h5>
-                  <AppointmentCalendar 
-                    appointments={appointments} 
+                  <AppointmentCalendar
+                    doctors={dashboard ? dashboard.doctors : []}
                     onViewDetails={viewAppointmentDetails}
+                    refreshTrigger={refreshTrigger}
                   />
                 </Card.Body>
               </Card>
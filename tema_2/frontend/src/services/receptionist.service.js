@@ -3,8 +3,11 @@ import axios from '../utils/axiosConfig';
 
 const ReceptionistService = {
   // Appointment Management
-  createAppointment: async (appointmentData) => {
-    const response = await axios.post('/receptionist/appointments', appointmentData);
+  // Pass the same idempotencyKey (see utils/idempotency) when resubmitting, so the booking is created only once
+  createAppointment: async (appointmentData, idempotencyKey = null) => {
+    const response = await axios.post('/receptionist/appointments', appointmentData, {
+      headers: idempotencyKey ? { 'Idempotency-Key': idempotencyKey } : {}
+    });
     return response.data;
   },
   
@@ -13,11 +16,61 @@ const ReceptionistService = {
     return response.data;
   },
   
-  getAllAppointments: async () => {
-    const response = await axios.get('/receptionist/appointments');
+  // One page of appointments matching the filters; pass nextCursor back to get the following page
+  getAppointments: async (filters = {}, cursor = null, size = 50) => {
+    const response = await axios.get('/receptionist/appointments', {
+      params: { ...filters, cursor, size }
+    });
     return response.data;
   },
   
+  // Follows the since token until caught up; returns the changed rows and the token for the next poll
+  getAppointmentChanges: async (since = '0') => {
+    const changes = [];
+    let page;
+    do {
+      const response = await axios.get('/receptionist/appointments/changes', {
+        params: { since, size: 200 }
+      });
+      page = response.data;
+      changes.push(...page.items);
+      since = page.since;
+    } while (page.hasMore);
+    return { changes, since };
+  },
+
+  // Several appointments in one request; returns { items, missing }
+  getAppointmentsByIds: async (ids) => {
+    const response = await axios.get('/receptionist/appointments/lookup', {
+      params: { ids: ids.join(',') }
+    });
+    return response.data;
+  },
+
+  // Per-day status counts and the first entries of each day for a month view (month as YYYY-MM)
+  getCalendar: async (month, doctorId = null, perDay = 3) => {
+    const response = await axios.get('/receptionist/calendar', {
+      params: { month, doctorId, perDay }
+    });
+    return response.data;
+  },
+
+  // Day's appointments, status and doctor counts and the active catalogs in one request
+  getDashboard: async (date) => {
+    const response = await axios.get('/receptionist/dashboard', {
+      params: { date }
+    });
+    return response.data;
+  },
+
+  // Patients whose name resembles the query, with their latest appointments; tolerates typos and accents
+  searchPatients: async (q, limit = 10) => {
+    const response = await axios.get('/receptionist/patients/search', {
+      params: { q, limit }
+    });
+    return response.data;
+  },
+
   getAppointment: async (id) => {
     const response = await axios.get(`/receptionist/appointments/${id}`);
     return response.data;
@@ -29,6 +82,14 @@ const ReceptionistService = {
     return response.data;
   },
   
+  // Get the next free slots of a doctor for a service
+  getFreeSlots: async (doctorId, serviceId, from, to, limit = 10) => {
+    const response = await axios.get(`/receptionist/doctors/${doctorId}/slots`, {
+      params: { serviceId, from, to, limit }
+    });
+    return response.data;
+  },
+  
   // Get available services
   getAllServices: async () => {
     const response = await axios.get('/receptionist/services');
@@ -57,6 +57,18 @@ export const getCurrentDate = () => {
   return date.toISOString().split('T')[0];
 };
 
+/**
+ * Format a Date as a local calendar date (YYYY-MM-DD), the form the backend uses for dates
+ * @param {Date} date - Date to format
+ * @returns {string} Local date in ISO format
+ */
+export const toDateKey = (date) => {
+  const year = date.getFullYear();
+  const month = String(date.getMonth() + 1).padStart(2, '0');
+  const day = String(date.getDate()).padStart(2, '0');
+  return `${year}-${month}-${day}`;
+};
+
 /**
  * Get current datetime in ISO format (YYYY-MM-DDTHH:MM)
  * @returns {string} Current datetime in ISO format
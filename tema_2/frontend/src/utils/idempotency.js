@@ -0,0 +1,23 @@
+// src/utils/idempotency.js
+
+/**
+ * Create a random key for the Idempotency-Key header.
+ * crypto.randomUUID only exists in secure contexts (https or localhost), so the key is built
+ * from crypto.getRandomValues, which is available over plain http too.
+ * @returns {string} Random version 4 UUID
+ */
+export const createIdempotencyKey = () => {
+  const bytes = new Uint8Array(16);
+  if (window.crypto?.getRandomValues) {
+    window.crypto.getRandomValues(bytes);
+  } else {
+    for (let i = 0; i < bytes.length; i++) {
+      bytes[i] = Math.floor(Math.random() * 256);
+    }
+  }
+  bytes[6] = (bytes[6] & 0x0f) | 0x40;
+  bytes[8] = (bytes[8] & 0x3f) | 0x80;
+
+  const hex = Array.from(bytes, b => b.toString(16).padStart(2, '0')).join('');
+  return `${hex.slice(0, 8)}-${hex.slice(8, 12)}-${hex.slice(12, 16)}-${hex.slice(16, 20)}-${hex.slice(20)}`;
+};